@@ -2,6 +2,7 @@ package com.redis.riot.file;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,12 +18,21 @@ public class HeaderCallbackHandler implements LineCallbackHandler {
 	private final int headerIndex;
 
 	private int lineIndex;
+	private Consumer<String[]> namesConsumer = names -> {
+	};
 
 	public HeaderCallbackHandler(AbstractLineTokenizer tokenizer, int headerIndex) {
 		this.tokenizer = tokenizer;
 		this.headerIndex = headerIndex;
 	}
 
+	/**
+	 * @param consumer notified with the field names read from the header line
+	 */
+	public void setNamesConsumer(Consumer<String[]> consumer) {
+		this.namesConsumer = consumer;
+	}
+
 	@Override
 	public void handleLine(String line) {
 		if (lineIndex == headerIndex) {
@@ -33,7 +43,9 @@ public class HeaderCallbackHandler implements LineCallbackHandler {
 				fields.add(fieldSet.readString(index));
 			}
 			log.info("Using field names {}", fields);
-			tokenizer.setNames(fields.toArray(new String[0]));
+			String[] names = fields.toArray(new String[0]);
+			tokenizer.setNames(names);
+			namesConsumer.accept(names);
 		}
 		lineIndex++;
 	}
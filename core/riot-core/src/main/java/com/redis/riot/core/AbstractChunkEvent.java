@@ -0,0 +1,30 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of Flight Recorder events for a phase of a chunk. The thread
+ * handling the chunk is recorded as the event thread.
+ */
+@Category({ "RIOT", "Step" })
+@StackTrace(false)
+abstract class AbstractChunkEvent extends Event {
+
+	@Label("Step")
+	String step;
+
+	@Label("Items")
+	@Description("Number of items in the chunk")
+	int items;
+
+	@Label("Bytes")
+	@Description("Estimated size of the items")
+	@DataAmount
+	long bytes;
+
+}
@@ -1,16 +1,27 @@
 package com.redis.riot.core;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionException;
 import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.job.builder.JobBuilder;
@@ -19,19 +30,21 @@ import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.core.step.builder.PartitionStepBuilder;
 import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.skip.AlwaysSkipItemSkipPolicy;
+import org.springframework.batch.core.step.skip.LimitCheckingItemSkipPolicy;
 import org.springframework.batch.core.step.skip.NeverSkipItemSkipPolicy;
 import org.springframework.batch.core.step.tasklet.TaskletStep;
 import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemStreamSupport;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.support.SynchronizedItemReader;
-import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.retry.RetryListener;
 import org.springframework.retry.policy.AlwaysRetryPolicy;
 import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -44,14 +57,25 @@ import com.redis.spring.batch.item.AbstractAsyncItemReader;
 import com.redis.spring.batch.item.AbstractPollableItemReader;
 import com.redis.spring.batch.step.FlushingStepBuilder;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParseResult;
 
 @Command
 public abstract class AbstractJobCommand extends AbstractCallableCommand {
 
-	public static final String DEFAULT_JOB_REPOSITORY_NAME = "riot";
+	public static final String POOL_SIZE_METRIC = "riot.redis.pool.size";
+	public static final String DLQ_WRITTEN_METRIC = "riot.dlq.written";
+	public static final String DLQ_DROPPED_METRIC = "riot.dlq.dropped";
+
+	private static final String CHUNK_SIZE_MESSAGE = " | batch %,d";
 
 	@Option(names = "--job-name", description = "Job name.", paramLabel = "<string>", hidden = true)
 	private String jobName;
@@ -59,10 +83,13 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 	@ArgGroup(exclusive = false, heading = "Job options%n")
 	private StepArgs stepArgs = new StepArgs();
 
-	private String jobRepositoryName = DEFAULT_JOB_REPOSITORY_NAME;
 	private JobRepository jobRepository;
 	private PlatformTransactionManager transactionManager;
 	private JobLauncher jobLauncher;
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+	private DeadLetterQueue deadLetterQueue;
+	private RateLimiter itemRateLimiter;
+	private RateLimiter byteRateLimiter;
 
 	private TaskExecutorJobLauncher taskExecutorJobLauncher() throws Exception {
 		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
@@ -76,18 +103,52 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		reader.setJobRepository(jobRepository);
 	}
 
+	private JobRepository jobRepository() throws Exception {
+		if (isCheckpoint()) {
+			CheckpointJobRepository repository = new CheckpointJobRepository(stepArgs.getCheckpoint().toPath(),
+					jobName);
+			if (!repository.load()) {
+				log.info("Creating checkpoint {}", stepArgs.getCheckpoint());
+			}
+			return repository;
+		}
+		return new InMemoryJobRepository();
+	}
+
+	protected boolean isCheckpoint() {
+		return stepArgs.getCheckpoint() != null;
+	}
+
 	private JobBuilder jobBuilder() {
 		return new JobBuilder(jobName, jobRepository);
 	}
 
+	/**
+	 * The metrics endpoint is started before the command executes so that Redis
+	 * clients created by subclasses also record their metrics.
+	 */
+	@Override
+	public Integer call() throws Exception {
+		MetricsArgs metricsArgs = stepArgs.getMetricsArgs();
+		if (!metricsArgs.isEnabled()) {
+			return super.call();
+		}
+		try (MetricsServer server = new MetricsServer(metricsArgs.getHost(), metricsArgs.getPort(),
+				metricsArgs.getPath())) {
+			server.start();
+			return super.call();
+		}
+	}
+
 	@Override
 	protected void execute() throws Exception {
+		long startTime = System.nanoTime();
 		if (jobName == null) {
 			Assert.notNull(commandSpec, "Command spec not set");
 			jobName = commandSpec.name();
 		}
 		if (jobRepository == null) {
-			jobRepository = JobUtils.jobRepositoryFactoryBean(jobRepositoryName).getObject();
+			jobRepository = jobRepository();
 		}
 		if (transactionManager == null) {
 			transactionManager = JobUtils.resourcelessTransactionManager();
@@ -95,7 +156,48 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		if (jobLauncher == null) {
 			jobLauncher = taskExecutorJobLauncher();
 		}
-		JobExecution jobExecution = jobLauncher.run(job(), new JobParameters());
+		if (stepArgs.getTuneMode() == TuneMode.AUTO) {
+			AutoTuner tuner = new AutoTuner(Runtime.getRuntime().availableProcessors());
+			calibrate(tuner);
+			tuner.tune();
+			tune(tuner);
+		}
+		if (isCheckpoint()) {
+			// Read-ahead readers save offsets past uncommitted items
+			Assert.isTrue(stepArgs.getThreads() == 1,
+					"--checkpoint cannot be used with multiple threads (--threads or --tune auto)");
+			Assert.isTrue(!isPipelined(), "--checkpoint cannot be used with processor threads");
+		}
+		if (stepArgs.getRate() > 0) {
+			log.info("Creating item rate limiter with rate {}/s", stepArgs.getRate());
+			itemRateLimiter = new RateLimiter(stepArgs.getRate());
+		}
+		if (stepArgs.getByteRate() != null) {
+			log.info("Creating byte rate limiter with rate {}/s", stepArgs.getByteRate());
+			byteRateLimiter = new RateLimiter(stepArgs.getByteRate().toBytes());
+		}
+		deadLetterQueue = deadLetterQueue();
+		long droppedDeadLetters = 0;
+		try {
+			runJob(startTime);
+		} finally {
+			if (deadLetterQueue != null) {
+				deadLetterQueue.close();
+				droppedDeadLetters = deadLetterQueue.getDropped();
+				deadLetterQueue = null;
+			}
+		}
+		if (droppedDeadLetters > 0) {
+			throw new JobExecutionException(String.format(
+					"%,d skipped items were dropped instead of dead-lettered because the dead-letter queue was full or could not be written",
+					droppedDeadLetters));
+		}
+	}
+
+	private void runJob(long startTime) throws Exception {
+		Job job = job();
+		log.info("Initialized job {} in {}ms", jobName, Duration.ofNanos(System.nanoTime() - startTime).toMillis());
+		JobExecution jobExecution = jobLauncher.run(job, new JobParameters());
 		if (JobUtils.isFailed(jobExecution.getExitStatus())) {
 			for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
 				ExitStatus stepExitStatus = stepExecution.getExitStatus();
@@ -110,6 +212,57 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		}
 	}
 
+	/**
+	 * Measures round-trip time and value sizes before tuning.
+	 */
+	protected void calibrate(AutoTuner tuner) {
+		// No Redis connection to measure
+	}
+
+	/**
+	 * Applies tuned settings to options not given on the command line.
+	 */
+	protected void tune(AutoTuner tuner) {
+		tuner.configure(stepArgs, this::isOptionSet);
+		log.info("Tuned job options: {}", stepArgs);
+	}
+
+	/**
+	 * Returns true if the option with the given name was matched on the command
+	 * line, even if its value is the default one.
+	 */
+	protected boolean isOptionSet(String name) {
+		if (commandSpec == null) {
+			return false;
+		}
+		ParseResult parseResult = commandSpec.commandLine().getParseResult();
+		return parseResult != null && parseResult.hasMatchedOption(name);
+	}
+
+	private DeadLetterQueue deadLetterQueue() throws Exception {
+		DeadLetterWriter writer = deadLetterWriter();
+		if (writer == null) {
+			return null;
+		}
+		if (stepArgs.getSkipPolicy() == SkipPolicy.NEVER) {
+			log.warn("No skip policy specified: no items will be dead-lettered");
+		}
+		DeadLetterQueue queue = new DeadLetterQueue(writer);
+		FunctionCounter.builder(DLQ_WRITTEN_METRIC, queue, DeadLetterQueue::getCount).tags("job", jobName)
+				.register(meterRegistry);
+		FunctionCounter.builder(DLQ_DROPPED_METRIC, queue, DeadLetterQueue::getDropped).tags("job", jobName)
+				.register(meterRegistry);
+		queue.start();
+		return queue;
+	}
+
+	/**
+	 * @return writer of skipped items, or null to only log them
+	 */
+	protected DeadLetterWriter deadLetterWriter() throws Exception {
+		return null;
+	}
+
 	private JobExecutionException wrapException(List<Throwable> throwables) {
 		if (throwables.isEmpty()) {
 			return new JobExecutionException("Job failed");
@@ -137,13 +290,131 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 
 	protected abstract Job job() throws Exception;
 
-	private <I, O> TaskletStep step(Step<I, O> step) {
+	@SuppressWarnings("unchecked")
+	private <I, O> org.springframework.batch.core.Step step(Step<I, O> step) {
+		ItemWriteListener<O> progressListener = null;
+		if (shouldShowProgress()) {
+			ProgressStepExecutionListener<I, O> listener = new ProgressStepExecutionListener<>(step);
+			listener.setProgressArgs(stepArgs.getProgressArgs());
+			step.executionListener(listener);
+			progressListener = listener;
+		}
+		MetricsStepListener<I, O> metricsListener = metricsListener(step);
+		AdaptiveCompletionPolicy<O> chunkSizePolicy = null;
+		if (stepArgs.isAutoChunkSize()) {
+			chunkSizePolicy = adaptiveCompletionPolicy(step);
+		}
+		if (step.getPartitions().isEmpty()) {
+			return taskletStep(step, progressListener, metricsListener, chunkSizePolicy);
+		}
+		return partitionStep(step, progressListener, metricsListener, chunkSizePolicy);
+	}
+
+	/**
+	 * The listener is shared by all threads and partitions of the step so that
+	 * metrics are tagged with the name of the step as a whole. Gauges of
+	 * partitions are tagged with the partition step name.
+	 * 
+	 * @return the metrics listener, or null if metrics are disabled so that steps
+	 *         do not pay for timing items and estimating their sizes
+	 */
+	private <I, O> MetricsStepListener<I, O> metricsListener(Step<I, O> step) {
+		String name = stepName(step);
+		if (!isMetricsEnabled()) {
+			log.info("Metrics disabled for step {}", name);
+			return null;
+		}
+		log.info("Registering metrics for step {}", name);
+		registerGauges(step);
+		step.getPartitions().forEach(this::registerGauges);
+		return new MetricsStepListener<>(meterRegistry, Tags.of("job", jobName, "step", name));
+	}
+
+	/**
+	 * Metrics are disabled when the registry is a composite without registries,
+	 * e.g. the global registry when no metrics endpoint is started.
+	 */
+	private boolean isMetricsEnabled() {
+		if (meterRegistry instanceof CompositeMeterRegistry) {
+			return !((CompositeMeterRegistry) meterRegistry).getRegistries().isEmpty();
+		}
+		return true;
+	}
+
+	/**
+	 * Registers the size of a Redis connection pool. Pool utilization of writers
+	 * is the ratio of active writes to this size.
+	 */
+	protected void registerPoolSize(String pool, int size) {
+		registerPoolSize(pool, size, "");
+	}
+
+	/**
+	 * Registers the size of a Redis connection pool used by a single step, e.g. one
+	 * of the partitions of a partitioned step which each have their own pool.
+	 * Pools shared by the whole job have an empty step tag so that all gauges have
+	 * the same tag keys.
+	 */
+	protected void registerPoolSize(String pool, int size, String step) {
+		Gauge.builder(POOL_SIZE_METRIC, () -> size).tags("job", jobName, "step", step, "pool", pool)
+				.register(meterRegistry);
+	}
+
+	private void registerGauges(Step<?, ?> step) {
+		Tags tags = Tags.of("job", jobName, "step", stepName(step));
+		step.getGauges().forEach((name, value) -> Gauge.builder(name, value).tags(tags).register(meterRegistry));
+	}
+
+	/**
+	 * The policy is shared by all threads and partitions of the step since they
+	 * write to the same target.
+	 */
+	private <I, O> AdaptiveCompletionPolicy<O> adaptiveCompletionPolicy(Step<I, O> step) {
+		String name = stepName(step);
+		log.info("Creating adaptive chunk size policy for step {} with min {}, max {} and target latency {}ms", name,
+				stepArgs.getMinChunkSize(), stepArgs.getMaxChunkSize(), stepArgs.getTargetLatency());
+		AdaptiveCompletionPolicy<O> policy = new AdaptiveCompletionPolicy<>(name, stepArgs.getMinChunkSize(),
+				stepArgs.getMaxChunkSize(), Duration.ofMillis(stepArgs.getTargetLatency()));
+		Supplier<String> statusMessageSupplier = step.getStatusMessageSupplier();
+		step.statusMessageSupplier(
+				() -> statusMessageSupplier.get() + String.format(CHUNK_SIZE_MESSAGE, policy.getChunkSize()));
+		step.executionListener(policy);
+		return policy;
+	}
+
+	private <I, O> org.springframework.batch.core.Step partitionStep(Step<I, O> step,
+			ItemWriteListener<O> progressListener, MetricsStepListener<I, O> metricsListener,
+			AdaptiveCompletionPolicy<O> chunkSizePolicy) {
+		String name = stepName(step);
+		List<org.springframework.batch.core.Step> workers = new ArrayList<>();
+		for (Step<I, O> partition : step.getPartitions()) {
+			workers.add(taskletStep(partition, progressListener, metricsListener, chunkSizePolicy));
+		}
+		int concurrency = step.getPartitionConcurrency() > 0 ? step.getPartitionConcurrency() : workers.size();
+		log.info("Creating partitioned step {} with {} partitions and concurrency {}", name, workers.size(),
+				concurrency);
+		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor(name + "-");
+		taskExecutor.setConcurrencyLimit(concurrency);
+		MultiStepPartitionHandler partitionHandler = new MultiStepPartitionHandler(workers);
+		partitionHandler.setTaskExecutor(taskExecutor);
+		PartitionStepBuilder builder = new StepBuilder(name, jobRepository).partitioner(name, partitionHandler);
+		builder.partitionHandler(partitionHandler);
+		builder.gridSize(workers.size());
+		step.getExecutionListeners().forEach(builder::listener);
+		return builder.build();
+	}
+
+	private <I, O> TaskletStep taskletStep(Step<I, O> step, ItemWriteListener<O> progressListener,
+			MetricsStepListener<I, O> metricsListener, AdaptiveCompletionPolicy<O> chunkSizePolicy) {
 		log.info("Creating {}", step);
-		SimpleStepBuilder<I, O> builder = simpleStep(step);
+		List<SkipListener<I, O>> skipListeners = skipListeners(step, metricsListener);
+		SimpleStepBuilder<I, O> builder = simpleStep(step, progressListener, metricsListener, skipListeners,
+				chunkSizePolicy);
 		if (stepArgs.getRetryPolicy() == RetryPolicy.NEVER && stepArgs.getSkipPolicy() == SkipPolicy.NEVER) {
 			log.info("Skipping fault-tolerance for step {}", step.getName());
 			return builder.build();
 		}
+		Assert.isTrue(!isPipelined(), "Processor threads cannot be used with skip or retry policies");
 		log.info("Adding fault-tolerance to step {}", step.getName());
 		FaultTolerantStepBuilder<I, O> ftStep = JobUtils.faultTolerant(builder);
 		step.getSkip().forEach(ftStep::skip);
@@ -154,9 +425,26 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		ftStep.retryPolicy(retryPolicy());
 		ftStep.skipLimit(stepArgs.getSkipLimit());
 		ftStep.skipPolicy(skipPolicy());
+		for (SkipListener<I, O> skipListener : skipListeners) {
+			ftStep.listener(skipListener);
+		}
+		if (metricsListener != null) {
+			ftStep.listener((RetryListener) metricsListener);
+		}
 		return ftStep.build();
 	}
 
+	private <I, O> List<SkipListener<I, O>> skipListeners(Step<I, O> step, MetricsStepListener<I, O> metricsListener) {
+		List<SkipListener<I, O>> listeners = new ArrayList<>();
+		if (metricsListener != null) {
+			listeners.add(metricsListener);
+		}
+		if (deadLetterQueue != null) {
+			listeners.add(deadLetterQueue.listener(step.getName()));
+		}
+		return listeners;
+	}
+
 	private org.springframework.retry.RetryPolicy retryPolicy() {
 		switch (stepArgs.getRetryPolicy()) {
 		case ALWAYS:
@@ -179,32 +467,81 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		}
 	}
 
-	@SuppressWarnings("removal")
-	private <I, O> SimpleStepBuilder<I, O> simpleStep(Step<I, O> step) {
+	/**
+	 * Skippable write failures are handled by the bisecting writer so that the
+	 * fault-tolerant step never falls back to its item-by-item scan. Retries and
+	 * read/process skips are still handled by the fault-tolerant step.
+	 */
+	private boolean isBisecting() {
+		return stepArgs.getRecoveryMode() == RecoveryMode.BISECT && stepArgs.getSkipPolicy() != SkipPolicy.NEVER
+				&& !isPipelined();
+	}
+
+	private org.springframework.batch.core.step.skip.SkipPolicy bisectingSkipPolicy(Step<?, ?> step) {
+		org.springframework.batch.core.step.skip.SkipPolicy policy = skipPolicy();
+		if (policy != null) {
+			return policy;
+		}
+		Map<Class<? extends Throwable>, Boolean> skippableExceptions = new HashMap<>();
+		step.getSkip().forEach(e -> skippableExceptions.put(e, true));
+		step.getNoSkip().forEach(e -> skippableExceptions.put(e, false));
+		return new LimitCheckingItemSkipPolicy(stepArgs.getSkipLimit(), skippableExceptions);
+	}
+
+	private String stepName(Step<?, ?> step) {
 		String name = jobName + "-" + step.getName();
 		if (name.length() >= 100) {
-			name = name.substring(0, 80) + "…" + name.substring(name.length() - 10);
+			return name.substring(0, 80) + "…" + name.substring(name.length() - 10);
 		}
+		return name;
+	}
+
+	@SuppressWarnings("removal")
+	private <I, O> SimpleStepBuilder<I, O> simpleStep(Step<I, O> step, ItemWriteListener<O> progressListener,
+			MetricsStepListener<I, O> metricsListener, List<SkipListener<I, O>> skipListeners,
+			AdaptiveCompletionPolicy<O> chunkSizePolicy) {
+		String name = stepName(step);
 		if (step.getReader() instanceof ItemStreamSupport) {
 			ItemStreamSupport support = (ItemStreamSupport) step.getReader();
 			Assert.notNull(support.getName(), "No name specified for reader in step " + name);
 			support.setName(name + "-" + support.getName());
 		}
-		log.info("Creating step {} with chunk size {}", name, stepArgs.getChunkSize());
-		SimpleStepBuilder<I, O> builder = new StepBuilder(name, jobRepository).<I, O>chunk(stepArgs.getChunkSize(),
-				transactionManager);
+		SimpleStepBuilder<I, O> builder;
+		if (chunkSizePolicy == null) {
+			log.info("Creating step {} with chunk size {}", name, stepArgs.getChunkSize());
+			builder = new StepBuilder(name, jobRepository).<I, O>chunk(stepArgs.getChunkSize(), transactionManager);
+		} else {
+			log.info("Creating step {} with adaptive chunk size", name);
+			builder = new StepBuilder(name, jobRepository).<I, O>chunk(chunkSizePolicy, transactionManager);
+			builder.listener((ItemWriteListener<O>) chunkSizePolicy);
+		}
 		builder.reader(reader(step));
-		builder.writer(writer(step));
-		builder.processor(step.getProcessor());
+		if (isPipelined()) {
+			PipelineItemWriter<I, O> writer = pipelineWriter(name, step, metricsListener);
+			builder.writer(pipelineItemWriter(writer));
+			builder.listener((StepExecutionListener) writer);
+			builder.listener((ChunkListener) writer);
+		} else {
+			builder.writer(writer(step, skipListeners));
+			builder.processor(step.getProcessor());
+		}
 		builder.taskExecutor(taskExecutor());
 		builder.throttleLimit(stepArgs.getThreads());
 		step.getExecutionListeners().forEach(builder::listener);
 		step.getWriteListeners().forEach(builder::listener);
-		if (shouldShowProgress()) {
-			ProgressStepExecutionListener<I, O> listener = new ProgressStepExecutionListener<>(step);
-			builder.listener((StepExecutionListener) listener);
-			builder.listener((ItemWriteListener<?>) listener);
+		if (progressListener != null) {
+			builder.listener(progressListener);
+		}
+		if (metricsListener != null) {
+			builder.listener((ItemReadListener<I>) metricsListener);
+			builder.listener((ItemProcessListener<I, O>) metricsListener);
+			builder.listener((ItemWriteListener<O>) metricsListener);
 		}
+		FlightRecorderStepListener<I, O> flightRecorderListener = new FlightRecorderStepListener<>(name);
+		builder.listener((ChunkListener) flightRecorderListener);
+		builder.listener((ItemReadListener<I>) flightRecorderListener);
+		builder.listener((ItemProcessListener<I, O>) flightRecorderListener);
+		builder.listener((ItemWriteListener<O>) flightRecorderListener);
 		if (step.isLive()) {
 			log.info("Creating flushing step with flush interval {} and idle timeout {}", step.getFlushInterval(),
 					step.getIdleTimeout());
@@ -220,6 +557,14 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		if (stepArgs.getThreads() == 1) {
 			return new SyncTaskExecutor();
 		}
+		if (stepArgs.getExecutorType() == ExecutorType.VIRTUAL) {
+			try {
+				return virtualThreadTaskExecutor();
+			} catch (UnsupportedOperationException e) {
+				log.warn("Virtual threads not supported on Java {}, falling back to platform threads",
+						Runtime.version().feature());
+			}
+		}
 		log.info("Creating thread-pool task executor of size {}", stepArgs.getThreads());
 		ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
 		taskExecutor.setMaxPoolSize(stepArgs.getThreads());
@@ -228,29 +573,108 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		return taskExecutor;
 	}
 
+	/**
+	 * Virtual worker threads are pooled rather than started for each chunk so that
+	 * per-thread state (e.g. Faker instances and lenient date formats of SpEL
+	 * expressions) is created once per worker and not once per chunk.
+	 */
+	private TaskExecutor virtualThreadTaskExecutor() {
+		log.info("Creating virtual-thread task executor of size {}", stepArgs.getThreads());
+		ThreadFactory threadFactory = new VirtualThreadTaskExecutor(jobName + "-").getVirtualThreadFactory();
+		ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+		taskExecutor.setThreadFactory(threadFactory);
+		taskExecutor.setMaxPoolSize(stepArgs.getThreads());
+		taskExecutor.setCorePoolSize(stepArgs.getThreads());
+		taskExecutor.initialize();
+		return taskExecutor;
+	}
+
 	private <I, O> ItemReader<? extends I> reader(Step<I, O> step) {
+		ItemReader<I> reader = threadSafeReader(step);
+		if (isReadRateLimited(step)) {
+			log.info("Rate-limiting reader in step {}", step.getName());
+			return new RateLimitedItemReader<>(reader, itemRateLimiter, byteRateLimiter);
+		}
+		return reader;
+	}
+
+	private <I, O> ItemReader<I> threadSafeReader(Step<I, O> step) {
 		if (stepArgs.getThreads() == 1 || step.getReader() instanceof AbstractPollableItemReader) {
 			return step.getReader();
 		}
-		log.info("Synchronizing reader in step {}", step.getName());
-		if (step.getReader() instanceof ItemStreamReader) {
-			SynchronizedItemStreamReader<I> synchronizedReader = new SynchronizedItemStreamReader<>();
-			synchronizedReader.setDelegate((ItemStreamReader<I>) step.getReader());
-			return synchronizedReader;
+		int capacity = Math.max(stepArgs.getChunkSize(), stepArgs.getMinChunkSize()) * stepArgs.getThreads();
+		log.info("Creating read-ahead reader with capacity {} in step {}", capacity, step.getName());
+		ReadAheadItemReader<I> reader = new ReadAheadItemReader<>(step.getReader());
+		reader.setCapacity(capacity);
+		reader.setThreadName(stepName(step) + "-reader");
+		return reader;
+	}
+
+	private boolean isRateLimited() {
+		return itemRateLimiter != null || byteRateLimiter != null;
+	}
+
+	/**
+	 * Live steps poll their reader so it cannot be wrapped: rate limits are then
+	 * applied at write time.
+	 */
+	private boolean isReadRateLimited(Step<?, ?> step) {
+		return isRateLimited() && stepArgs.getRateLimitMode() == RateLimitMode.READ && !step.isLive();
+	}
+
+	private boolean isPipelined() {
+		return stepArgs.getProcessorThreads() > 0;
+	}
+
+	/**
+	 * Items are handed to the writer unprocessed: the pipeline processes them on
+	 * its own threads, so process listeners of the step are not called. Processing
+	 * metrics are recorded by the pipeline itself, while Flight Recorder process
+	 * events, which are tied to the chunk thread, are not emitted. Each step thread
+	 * gets a write thread so that pipelining does not serialize writes, and one
+	 * more chunk than there are step threads can be in flight so that each step
+	 * thread processes its next chunk while the previous one is written.
+	 */
+	private <I, O> PipelineItemWriter<I, O> pipelineWriter(String name, Step<I, O> step,
+			MetricsStepListener<I, O> metricsListener) {
+		log.info("Creating pipeline writer with {} processor threads", stepArgs.getProcessorThreads());
+		PipelineItemWriter<I, O> writer = new PipelineItemWriter<>(step.getProcessor(),
+				writer(step, Collections.emptyList()));
+		if (metricsListener != null) {
+			writer.addProcessListener(metricsListener);
 		}
-		return new SynchronizedItemReader<>(step.getReader());
+		writer.setThreads(stepArgs.getProcessorThreads());
+		writer.setWriteThreads(stepArgs.getThreads());
+		writer.setCapacity(stepArgs.getThreads() + 1);
+		writer.setThreadNamePrefix(name + "-");
+		return writer;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <I, O> ItemWriter<O> pipelineItemWriter(PipelineItemWriter<I, O> writer) {
+		return (ItemWriter<O>) (ItemWriter<?>) writer;
 	}
 
-	private <I, O> ItemWriter<? super O> writer(Step<I, O> step) {
+	private <I, O> ItemWriter<? super O> writer(Step<I, O> step, List<SkipListener<I, O>> skipListeners) {
+		ItemWriter<O> writer = step.getWriter();
 		if (stepArgs.isDryRun()) {
 			log.info("Using no-op writer");
-			return new NoopItemWriter<>();
-		}
-		if (stepArgs.getSleep() > 0) {
+			writer = new NoopItemWriter<>();
+		} else if (stepArgs.getSleep() > 0) {
 			log.info("Throttling writer with sleep {}", stepArgs.getSleep());
-			return new ThrottledItemWriter<>(step.getWriter(), stepArgs.getSleep());
+			writer = new ThrottledItemWriter<>(writer, stepArgs.getSleep());
 		}
-		return step.getWriter();
+		if (isBisecting()) {
+			log.info("Bisecting failed writes in step {}", step.getName());
+			BisectingItemWriter<O> bisectingWriter = new BisectingItemWriter<>(writer, bisectingSkipPolicy(step));
+			skipListeners.forEach(bisectingWriter::addSkipListener);
+			writer = bisectingWriter;
+		}
+		if (isRateLimited() && !isReadRateLimited(step)) {
+			log.info("Rate-limiting writer in step {}", step.getName());
+			return new RateLimitedItemWriter<>(writer, itemRateLimiter, byteRateLimiter);
+		}
+		return writer;
 	}
 
 	public String getJobName() {
@@ -269,14 +693,6 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		this.stepArgs = args;
 	}
 
-	public String getJobRepositoryName() {
-		return jobRepositoryName;
-	}
-
-	public void setJobRepositoryName(String jobRepositoryName) {
-		this.jobRepositoryName = jobRepositoryName;
-	}
-
 	public JobRepository getJobRepository() {
 		return jobRepository;
 	}
@@ -293,6 +709,14 @@ public abstract class AbstractJobCommand extends AbstractCallableCommand {
 		this.transactionManager = transactionManager;
 	}
 
+	public MeterRegistry getMeterRegistry() {
+		return meterRegistry;
+	}
+
+	public void setMeterRegistry(MeterRegistry registry) {
+		this.meterRegistry = registry;
+	}
+
 	public JobLauncher getJobLauncher() {
 		return jobLauncher;
 	}
@@ -0,0 +1,138 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.util.Assert;
+
+/**
+ * Completion policy adjusting the chunk size between a min and a max based on
+ * measured write latency, using additive-increase/multiplicative-decrease
+ * (AIMD): the chunk size grows by a fixed increment while writes stay under the
+ * target latency and throughput does not degrade, and is halved when a write
+ * exceeds the target latency or fails. The chunk size is shared by all threads
+ * of the step: it is read by chunk threads without locking and only adjusted
+ * under the lock.
+ */
+public class AdaptiveCompletionPolicy<T> extends CompletionPolicySupport
+		implements ItemWriteListener<T>, StepExecutionListener {
+
+	public static final int DEFAULT_MIN_CHUNK_SIZE = 10;
+	public static final int DEFAULT_MAX_CHUNK_SIZE = 5000;
+	public static final Duration DEFAULT_TARGET_LATENCY = Duration.ofMillis(100);
+
+	private static final double DECREASE_FACTOR = .5;
+	private static final double THROUGHPUT_TOLERANCE = .9;
+	private static final double SMOOTHING = .2;
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+	private final ThreadLocal<Long> writeStart = new ThreadLocal<>();
+
+	private final String name;
+	private final int minChunkSize;
+	private final int maxChunkSize;
+	private final long targetLatencyNanos;
+	private final int increment;
+
+	private LongSupplier clock = System::nanoTime;
+	private volatile int chunkSize;
+	private double throughput;
+
+	public AdaptiveCompletionPolicy(String name, int minChunkSize, int maxChunkSize, Duration targetLatency) {
+		Assert.isTrue(minChunkSize > 0, "Min chunk size must be strictly positive");
+		Assert.isTrue(maxChunkSize >= minChunkSize, "Max chunk size must be greater than or equal to min chunk size");
+		Assert.isTrue(!targetLatency.isNegative() && !targetLatency.isZero(),
+				"Target latency must be strictly positive");
+		this.name = name;
+		this.minChunkSize = minChunkSize;
+		this.maxChunkSize = maxChunkSize;
+		this.targetLatencyNanos = targetLatency.toNanos();
+		this.increment = minChunkSize;
+		this.chunkSize = minChunkSize;
+	}
+
+	@Override
+	public boolean isComplete(RepeatContext context) {
+		return context.getStartedCount() >= chunkSize;
+	}
+
+	@Override
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		log.info("Step {} ended with chunk size {}", name, getChunkSize());
+		return stepExecution.getExitStatus();
+	}
+
+	@Override
+	public void beforeWrite(Chunk<? extends T> items) {
+		writeStart.set(clock.getAsLong());
+	}
+
+	@Override
+	public void afterWrite(Chunk<? extends T> items) {
+		Long start = writeStart.get();
+		if (start == null || items.isEmpty()) {
+			return;
+		}
+		writeStart.remove();
+		long latency = Math.max(1, clock.getAsLong() - start);
+		adjust(items.size(), latency);
+	}
+
+	@Override
+	public void onWriteError(Exception exception, Chunk<? extends T> items) {
+		writeStart.remove();
+		decrease();
+	}
+
+	private synchronized void adjust(int size, long latencyNanos) {
+		double chunkThroughput = (double) size / latencyNanos;
+		if (latencyNanos > targetLatencyNanos) {
+			decrease();
+		} else if (chunkThroughput >= throughput * THROUGHPUT_TOLERANCE) {
+			resize(chunkSize + increment);
+		}
+		throughput = throughput == 0 ? chunkThroughput : SMOOTHING * chunkThroughput + (1 - SMOOTHING) * throughput;
+	}
+
+	private synchronized void decrease() {
+		resize((int) (chunkSize * DECREASE_FACTOR));
+	}
+
+	private void resize(int size) {
+		int newChunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, size));
+		if (newChunkSize != chunkSize) {
+			log.debug("Changing chunk size of step {} from {} to {}", name, chunkSize, newChunkSize);
+			chunkSize = newChunkSize;
+		}
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param clock source of the current time in nanoseconds used to measure write
+	 *              latency
+	 */
+	public void setClock(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	public int getMinChunkSize() {
+		return minChunkSize;
+	}
+
+	public int getMaxChunkSize() {
+		return maxChunkSize;
+	}
+
+}
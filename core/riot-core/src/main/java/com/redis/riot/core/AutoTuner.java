@@ -0,0 +1,179 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Derives consistent concurrency and batching settings from the number of
+ * cores, the measured round-trip time to Redis and the average value size:
+ * <ul>
+ * <li>chunks mostly wait on I/O so there are twice as many threads as
+ * cores</li>
+ * <li>each thread holds a connection while writing so the writer pool has one
+ * connection per thread, and likewise for value reader threads</li>
+ * <li>batches adapt to write latency, targeting a latency where round trips
+ * are a small fraction of the time spent writing</li>
+ * <li>batch and queue sizes are bounded in bytes so that large values do not
+ * exhaust memory</li>
+ * </ul>
+ */
+public class AutoTuner {
+
+	public static final Duration DEFAULT_RTT = Duration.ofMillis(1);
+	public static final long DEFAULT_VALUE_SIZE = 1024;
+
+	private static final int THREADS_PER_CORE = 2;
+	private static final int MAX_THREADS = 64;
+	private static final int MAX_READ_THREADS = 16;
+	private static final int RTT_FRACTION = 20;
+	private static final long MAX_CHUNK_BYTES = 8 * 1024 * 1024;
+	private static final long MAX_READ_BATCH_BYTES = 1024 * 1024;
+	private static final long MAX_READ_QUEUE_BYTES = 64 * 1024 * 1024;
+	private static final int MIN_READ_BATCH = 10;
+	private static final int MAX_READ_BATCH = 500;
+	private static final int READ_QUEUE_BATCHES = 4;
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final int cores;
+	private Duration rtt;
+	private long valueSize;
+
+	private int threads;
+	private int poolSize;
+	private int minChunkSize;
+	private int maxChunkSize;
+	private Duration targetLatency;
+	private int readThreads;
+	private int readPoolSize;
+	private int readBatch;
+	private int readQueue;
+
+	public AutoTuner(int cores) {
+		this.cores = Math.max(1, cores);
+	}
+
+	public void tune() {
+		Duration roundTrip = rtt == null ? DEFAULT_RTT : rtt;
+		long size = valueSize > 0 ? valueSize : DEFAULT_VALUE_SIZE;
+		log.info("Tuning for {} cores, {}round-trip time {}us and {}value size {} bytes", cores,
+				rtt == null ? "default " : "", roundTrip.toNanos() / 1000, valueSize > 0 ? "" : "default ", size);
+		threads = clamp(cores * THREADS_PER_CORE, 1, MAX_THREADS);
+		log.info("Using {} threads: {} per core as chunks mostly wait on I/O", threads, THREADS_PER_CORE);
+		poolSize = threads;
+		log.info("Using writer pool size {}: one connection per thread", poolSize);
+		targetLatency = max(AdaptiveCompletionPolicy.DEFAULT_TARGET_LATENCY, roundTrip.multipliedBy(RTT_FRACTION));
+		maxChunkSize = clamp(MAX_CHUNK_BYTES / size, AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE,
+				AdaptiveCompletionPolicy.DEFAULT_MAX_CHUNK_SIZE);
+		minChunkSize = Math.min(AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE, maxChunkSize);
+		log.info(
+				"Adapting batch size between {} and {} to a target latency of {}ms: round trips under 1/{} of write time, batches under {} bytes",
+				minChunkSize, maxChunkSize, targetLatency.toMillis(), RTT_FRACTION, MAX_CHUNK_BYTES);
+		readThreads = clamp((cores + 1) / 2, 1, MAX_READ_THREADS);
+		readPoolSize = readThreads;
+		log.info("Using {} value reader threads with pool size {}: one per 2 cores, one connection each", readThreads,
+				readPoolSize);
+		readBatch = clamp(MAX_READ_BATCH_BYTES / size, MIN_READ_BATCH, MAX_READ_BATCH);
+		readQueue = clamp(Math.min((long) readBatch * readThreads * READ_QUEUE_BATCHES, MAX_READ_QUEUE_BYTES / size),
+				readBatch * readThreads, Integer.MAX_VALUE);
+		log.info("Using read batch {} and read queue {}: {} batches per reader thread, under {} bytes", readBatch,
+				readQueue, READ_QUEUE_BATCHES, MAX_READ_QUEUE_BYTES);
+	}
+
+	/**
+	 * Applies thread and batch settings to step options that were not set
+	 * explicitly.
+	 * 
+	 * @param optionSet tests whether the option with the given name was set
+	 *                  explicitly, e.g. on the command line
+	 */
+	public void configure(StepArgs args, Predicate<String> optionSet) {
+		if (!optionSet.test(StepArgs.OPTION_THREADS)) {
+			args.setThreads(threads);
+		}
+		if (!optionSet.test(StepArgs.OPTION_BATCH)) {
+			args.setChunkSize(StepArgs.AUTO_CHUNK_SIZE);
+		}
+		if (!optionSet.test(StepArgs.OPTION_BATCH_MIN)) {
+			args.setMinChunkSize(minChunkSize);
+		}
+		if (!optionSet.test(StepArgs.OPTION_BATCH_MAX)) {
+			args.setMaxChunkSize(maxChunkSize);
+		}
+		if (!optionSet.test(StepArgs.OPTION_BATCH_LATENCY)) {
+			args.setTargetLatency(targetLatency.toMillis());
+		}
+	}
+
+	private static int clamp(long value, int min, int max) {
+		return (int) Math.max(min, Math.min(max, value));
+	}
+
+	private static Duration max(Duration a, Duration b) {
+		return a.compareTo(b) >= 0 ? a : b;
+	}
+
+	public int getCores() {
+		return cores;
+	}
+
+	public Duration getRtt() {
+		return rtt;
+	}
+
+	/**
+	 * @param rtt measured round-trip time to Redis. The slowest of the source and
+	 *            target should be used.
+	 */
+	public void setRtt(Duration rtt) {
+		this.rtt = rtt;
+	}
+
+	public long getValueSize() {
+		return valueSize;
+	}
+
+	public void setValueSize(long size) {
+		this.valueSize = size;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public int getMinChunkSize() {
+		return minChunkSize;
+	}
+
+	public int getMaxChunkSize() {
+		return maxChunkSize;
+	}
+
+	public Duration getTargetLatency() {
+		return targetLatency;
+	}
+
+	public int getReadThreads() {
+		return readThreads;
+	}
+
+	public int getReadPoolSize() {
+		return readPoolSize;
+	}
+
+	public int getReadBatch() {
+		return readBatch;
+	}
+
+	public int getReadQueue() {
+		return readQueue;
+	}
+
+}
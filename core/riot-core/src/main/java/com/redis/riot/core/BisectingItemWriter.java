@@ -0,0 +1,122 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.util.Assert;
+
+/**
+ * Writer that recovers from a failed chunk write by splitting the chunk in two
+ * halves and writing each of them, recursively, until the failing items are
+ * isolated and skipped. Finding a bad item in a chunk of n items takes
+ * O(log n) writes instead of the n single-item writes of a fault-tolerant step
+ * scan.
+ * <p>
+ * Skipped items are reported to skip listeners and accounted for in the write
+ * and write-skip counts of the current step execution.
+ */
+public class BisectingItemWriter<T> implements ItemStreamWriter<T> {
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final ItemWriter<T> delegate;
+	private final SkipPolicy skipPolicy;
+	private final List<SkipListener<?, ? super T>> skipListeners = new ArrayList<>();
+
+	public BisectingItemWriter(ItemWriter<T> delegate, SkipPolicy skipPolicy) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(skipPolicy, "Skip policy must not be null");
+		this.delegate = delegate;
+		this.skipPolicy = skipPolicy;
+	}
+
+	public void addSkipListener(SkipListener<?, ? super T> listener) {
+		skipListeners.add(listener);
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends T> chunk) throws Exception {
+		write(chunk.getItems());
+	}
+
+	private void write(List<? extends T> items) throws Exception {
+		try {
+			delegate.write(new Chunk<>(items));
+		} catch (Exception e) {
+			if (!skipPolicy.shouldSkip(e, skipCount())) {
+				throw e;
+			}
+			if (items.size() == 1) {
+				skip(items.get(0), e);
+				return;
+			}
+			int middle = items.size() / 2;
+			log.debug("Could not write {} items, splitting in {} and {} items", items.size(), middle,
+					items.size() - middle);
+			write(items.subList(0, middle));
+			write(items.subList(middle, items.size()));
+		}
+	}
+
+	private void skip(T item, Exception exception) {
+		log.debug("Skipping item {}", item, exception);
+		StepExecution stepExecution = stepExecution();
+		if (stepExecution != null) {
+			synchronized (stepExecution) {
+				// The whole chunk is counted as written once this writer returns
+				stepExecution.setWriteCount(stepExecution.getWriteCount() - 1);
+				stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + 1);
+			}
+		}
+		skipListeners.forEach(l -> l.onSkipInWrite(item, exception));
+	}
+
+	private long skipCount() {
+		StepExecution stepExecution = stepExecution();
+		if (stepExecution == null) {
+			return 0;
+		}
+		synchronized (stepExecution) {
+			return stepExecution.getSkipCount();
+		}
+	}
+
+	private StepExecution stepExecution() {
+		StepContext context = StepSynchronizationManager.getContext();
+		return context == null ? null : context.getStepExecution();
+	}
+
+}
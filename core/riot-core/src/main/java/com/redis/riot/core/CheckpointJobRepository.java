@@ -0,0 +1,214 @@
+package com.redis.riot.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * {@link InMemoryJobRepository} that persists the state of a job to a local file
+ * after each committed chunk so that a failed or interrupted job can be resumed
+ * from its last checkpoint. Only executions of the given job are persisted
+ * (e.g. not the internal jobs of asynchronous readers), and the file is deleted
+ * once the job completes.
+ */
+public class CheckpointJobRepository extends InMemoryJobRepository {
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+	private final Set<String> droppedKeys = ConcurrentHashMap.newKeySet();
+
+	private final Path file;
+	private final String jobName;
+
+	public CheckpointJobRepository(Path file, String jobName) {
+		this.file = file;
+		this.jobName = jobName;
+	}
+
+	/**
+	 * Restores the job state from the checkpoint file if it exists.
+	 *
+	 * @return true if a checkpoint was restored
+	 */
+	public boolean load() throws IOException, ClassNotFoundException {
+		if (!Files.exists(file)) {
+			return false;
+		}
+		Checkpoint checkpoint;
+		try (InputStream inputStream = Files.newInputStream(file);
+				ObjectInputStream objectInputStream = new ObjectInputStream(inputStream)) {
+			checkpoint = (Checkpoint) objectInputStream.readObject();
+		}
+		JobInstance instance = new JobInstance(checkpoint.instanceId, jobName);
+		JobExecution jobExecution = new JobExecution(instance, checkpoint.executionId, new JobParameters());
+		jobExecution.setStatus(restoredStatus(checkpoint.status));
+		jobExecution.setExitStatus(new ExitStatus(checkpoint.exitCode));
+		jobExecution.setExecutionContext(executionContext(checkpoint.context));
+		for (StepCheckpoint step : checkpoint.steps) {
+			StepExecution stepExecution = new StepExecution(step.name, jobExecution, step.id);
+			stepExecution.setStatus(restoredStatus(step.status));
+			stepExecution.setExitStatus(new ExitStatus(step.exitCode));
+			stepExecution.setExecutionContext(executionContext(step.context));
+		}
+		restore(jobExecution);
+		log.info("Restored job {} from checkpoint {}", jobName, file);
+		return true;
+	}
+
+	/**
+	 * Executions still running when the checkpoint was written belong to a
+	 * process that died: they are considered failed so they can be restarted.
+	 */
+	private static BatchStatus restoredStatus(BatchStatus status) {
+		return status.isRunning() ? BatchStatus.FAILED : status;
+	}
+
+	private static ExecutionContext executionContext(Map<String, Object> map) {
+		ExecutionContext context = new ExecutionContext();
+		map.forEach(context::put);
+		return context;
+	}
+
+	@Override
+	public void update(JobExecution jobExecution) {
+		super.update(jobExecution);
+		if (isCheckpointed(jobExecution)) {
+			if (jobExecution.getStatus() == BatchStatus.COMPLETED) {
+				delete();
+			} else {
+				save(jobExecution);
+			}
+		}
+	}
+
+	@Override
+	public void update(StepExecution stepExecution) {
+		super.update(stepExecution);
+		if (!stepExecution.getStatus().isRunning() && isCheckpointed(stepExecution.getJobExecution())) {
+			save(stepExecution.getJobExecution());
+		}
+	}
+
+	@Override
+	public void updateExecutionContext(StepExecution stepExecution) {
+		super.updateExecutionContext(stepExecution);
+		if (isCheckpointed(stepExecution.getJobExecution())) {
+			save(stepExecution.getJobExecution());
+		}
+	}
+
+	private boolean isCheckpointed(JobExecution jobExecution) {
+		return jobName.equals(jobExecution.getJobInstance().getJobName());
+	}
+
+	/**
+	 * Saves the last execution of each step of the job, including steps of
+	 * previous executions that were not run again (e.g. completed steps).
+	 */
+	private synchronized void save(JobExecution jobExecution) {
+		Checkpoint checkpoint = new Checkpoint();
+		checkpoint.instanceId = jobExecution.getJobInstance().getInstanceId();
+		checkpoint.executionId = jobExecution.getId();
+		checkpoint.status = jobExecution.getStatus();
+		checkpoint.exitCode = jobExecution.getExitStatus().getExitCode();
+		checkpoint.context = serializable(jobExecution.getExecutionContext());
+		Map<String, StepExecution> lastStepExecutions = new LinkedHashMap<>();
+		for (JobExecution execution : findJobExecutions(jobExecution.getJobInstance())) {
+			for (StepExecution stepExecution : execution.getStepExecutions()) {
+				if (stepExecution.getId() != null) {
+					lastStepExecutions.merge(stepExecution.getStepName(), stepExecution,
+							(a, b) -> a.getId() > b.getId() ? a : b);
+				}
+			}
+		}
+		for (StepExecution stepExecution : lastStepExecutions.values()) {
+			StepCheckpoint step = new StepCheckpoint();
+			step.id = stepExecution.getId();
+			step.name = stepExecution.getStepName();
+			step.status = stepExecution.getStatus();
+			step.exitCode = stepExecution.getExitStatus().getExitCode();
+			step.context = serializable(step.name, stepExecution.getExecutionContext());
+			checkpoint.steps.add(step);
+		}
+		try {
+			Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+			try (OutputStream outputStream = Files.newOutputStream(tempFile);
+					ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+				objectOutputStream.writeObject(checkpoint);
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write checkpoint file " + file, e);
+		}
+	}
+
+	private Map<String, Object> serializable(String stepName, ExecutionContext context) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		context.entrySet().forEach(e -> {
+			if (e.getValue() instanceof Serializable) {
+				map.put(e.getKey(), e.getValue());
+			} else if (droppedKeys.add(e.getKey())) {
+				log.warn("Not checkpointing non-serializable value of {} in step {}", e.getKey(), stepName);
+			}
+		});
+		return map;
+	}
+
+	private synchronized void delete() {
+		try {
+			if (Files.deleteIfExists(file)) {
+				log.info("Deleted checkpoint {} of completed job {}", file, jobName);
+			}
+		} catch (IOException e) {
+			log.warn("Could not delete checkpoint file {}", file, e);
+		}
+	}
+
+	private static class Checkpoint implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private long instanceId;
+		private long executionId;
+		private BatchStatus status;
+		private String exitCode;
+		private Map<String, Object> context;
+		private List<StepCheckpoint> steps = new ArrayList<>();
+
+	}
+
+	private static class StepCheckpoint implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private long id;
+		private String name;
+		private BatchStatus status;
+		private String exitCode;
+		private Map<String, Object> context;
+
+	}
+
+}
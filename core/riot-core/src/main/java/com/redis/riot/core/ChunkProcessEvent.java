@@ -0,0 +1,12 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.redis.riot.ChunkProcess")
+@Label("Chunk Process")
+@Description("Items of a chunk processed by the step processor")
+class ChunkProcessEvent extends AbstractChunkEvent {
+
+}
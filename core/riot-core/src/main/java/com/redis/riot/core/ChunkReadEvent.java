@@ -0,0 +1,12 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.redis.riot.ChunkRead")
+@Label("Chunk Read")
+@Description("Items of a chunk read from the step reader")
+class ChunkReadEvent extends AbstractChunkEvent {
+
+}
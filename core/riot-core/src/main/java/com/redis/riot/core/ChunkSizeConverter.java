@@ -0,0 +1,23 @@
+package com.redis.riot.core;
+
+import picocli.CommandLine.ITypeConverter;
+import picocli.CommandLine.TypeConversionException;
+
+public class ChunkSizeConverter implements ITypeConverter<Integer> {
+
+	public static final String AUTO = "auto";
+
+	@Override
+	public Integer convert(String value) {
+		if (AUTO.equalsIgnoreCase(value.trim())) {
+			return StepArgs.AUTO_CHUNK_SIZE;
+		}
+		int size = Integer.parseInt(value.trim());
+		if (size < 1) {
+			throw new TypeConversionException(
+					String.format("Invalid batch size %s: must be strictly positive or '%s'", value, AUTO));
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.redis.riot.ChunkWrite")
+@Label("Chunk Write")
+@Description("Chunk written by the step writer")
+class ChunkWriteEvent extends AbstractChunkEvent {
+
+}
@@ -0,0 +1,88 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.util.Assert;
+
+/**
+ * Writer that coalesces the items of a chunk sharing the same key into a single
+ * item before handing the chunk to its delegate. Successive items with the same
+ * key are combined with a merge function, e.g. last write wins, and the
+ * coalesced item takes the place of the first of them in the chunk.
+ */
+public class CoalescingItemWriter<T> implements ItemStreamWriter<T> {
+
+	private final ItemWriter<T> delegate;
+	private final Function<? super T, ?> keyFunction;
+	private final BinaryOperator<T> merger;
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	/**
+	 * @param delegate    writer of coalesced chunks
+	 * @param keyFunction key of the items to coalesce
+	 * @param merger      combines an item with a later item with the same key
+	 */
+	public CoalescingItemWriter(ItemWriter<T> delegate, Function<? super T, ?> keyFunction, BinaryOperator<T> merger) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(keyFunction, "Key function must not be null");
+		Assert.notNull(merger, "Merge function must not be null");
+		this.delegate = delegate;
+		this.keyFunction = keyFunction;
+		this.merger = merger;
+	}
+
+	/**
+	 * @return number of items that were merged into another item instead of being
+	 *         written
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends T> chunk) throws Exception {
+		Map<Object, T> items = new LinkedHashMap<>(chunk.size() * 2);
+		for (T item : chunk) {
+			items.merge(keyFunction.apply(item), item, merger);
+		}
+		int coalesced = chunk.size() - items.size();
+		if (coalesced == 0) {
+			delegate.write(chunk);
+			return;
+		}
+		coalescedCount.addAndGet(coalesced);
+		delegate.write(new Chunk<>(new ArrayList<>(items.values())));
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.redis.riot.core;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Thread-safe replacement for {@link java.text.SimpleDateFormat} in SpEL
+ * expressions, backed by an immutable {@link DateTimeFormatter}. Dates without
+ * a time are parsed at the start of the day and dates without a zone in the
+ * default zone.
+ * <p>
+ * Input that the formatter cannot resolve but a lenient
+ * {@link SimpleDateFormat} accepts, e.g. trailing text or an hour of day
+ * contradicting the AM/PM marker, is parsed with a thread-confined
+ * {@link SimpleDateFormat} for compatibility.
+ */
+public class DateFormatter {
+
+	private final DateTimeFormatter formatter;
+	private final ZoneId zone;
+	private final ThreadLocal<SimpleDateFormat> lenientFormats;
+
+	public DateFormatter(String pattern) {
+		this(pattern, ZoneId.systemDefault());
+	}
+
+	public DateFormatter(String pattern, ZoneId zone) {
+		this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(zone);
+		this.zone = zone;
+		this.lenientFormats = ThreadLocal.withInitial(() -> {
+			SimpleDateFormat format = new SimpleDateFormat(pattern);
+			format.setTimeZone(TimeZone.getTimeZone(zone));
+			return format;
+		});
+	}
+
+	public Date parse(String source) throws ParseException {
+		try {
+			return Date.from(parseInstant(source));
+		} catch (DateTimeException e) {
+			return lenientFormats.get().parse(source);
+		}
+	}
+
+	private Instant parseInstant(String source) {
+		TemporalAccessor parsed = formatter.parseBest(source, ZonedDateTime::from, LocalDateTime::from,
+				LocalDate::from);
+		if (parsed instanceof ZonedDateTime) {
+			return ((ZonedDateTime) parsed).toInstant();
+		}
+		if (parsed instanceof LocalDateTime) {
+			return ((LocalDateTime) parsed).atZone(zone).toInstant();
+		}
+		return ((LocalDate) parsed).atStartOfDay(zone).toInstant();
+	}
+
+	/**
+	 * @param date a {@link Date}, a {@link TemporalAccessor}, or epoch millis
+	 */
+	public String format(Object date) {
+		if (date instanceof Date) {
+			return formatter.format(((Date) date).toInstant());
+		}
+		if (date instanceof Number) {
+			return formatter.format(Instant.ofEpochMilli(((Number) date).longValue()));
+		}
+		return formatter.format((TemporalAccessor) date);
+	}
+
+	@Override
+	public String toString() {
+		return formatter.toString();
+	}
+
+}
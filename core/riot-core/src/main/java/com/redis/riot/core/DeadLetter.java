@@ -0,0 +1,76 @@
+package com.redis.riot.core;
+
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * Item skipped by a step, along with the exception that caused the skip and its
+ * position in the source when known.
+ */
+public class DeadLetter {
+
+	public static final String READ = "read";
+	public static final String PROCESS = "process";
+	public static final String WRITE = "write";
+
+	private final String step;
+	private final String phase;
+	private final Object item;
+	private final Throwable exception;
+	private final long timestamp = System.currentTimeMillis();
+
+	public DeadLetter(String step, String phase, Object item, Throwable exception) {
+		this.step = step;
+		this.phase = phase;
+		this.item = item;
+		this.exception = exception;
+	}
+
+	public String getStep() {
+		return step;
+	}
+
+	public String getPhase() {
+		return phase;
+	}
+
+	/**
+	 * @return the skipped item, or null if it could not be read
+	 */
+	public Object getItem() {
+		return item;
+	}
+
+	public Throwable getException() {
+		return exception;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * @return the line that could not be parsed, or null if unknown
+	 */
+	public String getInput() {
+		if (exception instanceof FlatFileParseException) {
+			return ((FlatFileParseException) exception).getInput();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the number of the line that could not be parsed, or 0 if unknown
+	 */
+	public int getLineNumber() {
+		if (exception instanceof FlatFileParseException) {
+			return ((FlatFileParseException) exception).getLineNumber();
+		}
+		return 0;
+	}
+
+	@Override
+	public String toString() {
+		return "DeadLetter [step=" + step + ", phase=" + phase + ", item=" + item + ", exception=" + exception + "]";
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.util.Assert;
+
+/**
+ * Streams skipped items to a {@link DeadLetterWriter} from a dedicated thread.
+ * Worker threads only offer skipped items to a bounded queue and never block:
+ * items that do not fit in the queue, or that the writer fails to write, are
+ * dropped and counted.
+ */
+public class DeadLetterQueue implements AutoCloseable {
+
+	public static final int DEFAULT_CAPACITY = 10000;
+
+	private static final int BATCH_SIZE = 100;
+	private static final long POLL_MILLIS = 100;
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final DeadLetterWriter writer;
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	private int capacity = DEFAULT_CAPACITY;
+	private BlockingQueue<DeadLetter> queue;
+	private Thread thread;
+	private volatile boolean closed;
+
+	public DeadLetterQueue(DeadLetterWriter writer) {
+		Assert.notNull(writer, "Writer must not be null");
+		this.writer = writer;
+	}
+
+	public synchronized void start() {
+		Assert.isNull(thread, "Dead-letter queue already started");
+		queue = new ArrayBlockingQueue<>(capacity);
+		thread = new Thread(this::drain, "dead-letter");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void drain() {
+		List<DeadLetter> deadLetters = new ArrayList<>(BATCH_SIZE);
+		while (!closed || !queue.isEmpty()) {
+			DeadLetter deadLetter;
+			try {
+				deadLetter = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			if (deadLetter == null) {
+				continue;
+			}
+			deadLetters.add(deadLetter);
+			queue.drainTo(deadLetters, BATCH_SIZE - 1);
+			try {
+				writer.write(deadLetters);
+				count.addAndGet(deadLetters.size());
+			} catch (Exception e) {
+				// Counted as dropped so that the job does not succeed with lost skipped items
+				dropped.addAndGet(deadLetters.size());
+				log.error("Could not write {} dead letters", deadLetters.size(), e);
+			}
+			deadLetters.clear();
+		}
+	}
+
+	public void offer(DeadLetter deadLetter) {
+		if (!queue.offer(deadLetter) && dropped.getAndIncrement() == 0) {
+			log.warn("Dead-letter queue is full, dropping skipped items");
+		}
+	}
+
+	/**
+	 * @param step name of the step items are skipped from
+	 * @return a skip listener that offers skipped items of the given step
+	 */
+	public <I, O> SkipListener<I, O> listener(String step) {
+		return new SkipListener<>() {
+
+			@Override
+			public void onSkipInRead(Throwable t) {
+				offer(new DeadLetter(step, DeadLetter.READ, null, t));
+			}
+
+			@Override
+			public void onSkipInProcess(I item, Throwable t) {
+				offer(new DeadLetter(step, DeadLetter.PROCESS, item, t));
+			}
+
+			@Override
+			public void onSkipInWrite(O item, Throwable t) {
+				offer(new DeadLetter(step, DeadLetter.WRITE, item, t));
+			}
+
+		};
+	}
+
+	@Override
+	public synchronized void close() throws Exception {
+		closed = true;
+		if (thread != null) {
+			thread.join();
+			thread = null;
+		}
+		writer.close();
+		log.info("Wrote {} dead letters", count.get());
+		if (dropped.get() > 0) {
+			log.warn("Dropped {} dead letters", dropped.get());
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+}
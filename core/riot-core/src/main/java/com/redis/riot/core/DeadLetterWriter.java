@@ -0,0 +1,13 @@
+package com.redis.riot.core;
+
+import java.util.List;
+
+/**
+ * Destination of items skipped by a job, e.g. a file or a Redis stream.
+ * Implementations are only called from the dead-letter queue thread.
+ */
+public interface DeadLetterWriter extends AutoCloseable {
+
+	void write(List<DeadLetter> deadLetters) throws Exception;
+
+}
@@ -0,0 +1,7 @@
+package com.redis.riot.core;
+
+public enum ExecutorType {
+
+	POOL, VIRTUAL
+
+}
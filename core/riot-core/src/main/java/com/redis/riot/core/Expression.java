@@ -4,11 +4,15 @@ import java.util.function.Predicate;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 public class Expression {
 
-	protected static final SpelExpressionParser PARSER = new SpelExpressionParser();
+	protected static final SpelExpressionParser PARSER = new SpelExpressionParser(new CompilerConfiguration());
+
+	private static volatile SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
 
 	protected final org.springframework.expression.Expression spelExpression;
 
@@ -49,4 +53,36 @@ public class Expression {
 		return new TemplateExpression(PARSER.parseExpression(expression, new TemplateParserContext()));
 	}
 
+	public static SpelCompilerMode getCompilerMode() {
+		return compilerMode;
+	}
+
+	/**
+	 * Sets the compiler mode of all expressions, including those already parsed.
+	 * In {@link SpelCompilerMode#MIXED} mode expressions are compiled to bytecode
+	 * after a few interpreted evaluations and fall back to interpretation if
+	 * compiled evaluation fails.
+	 */
+	public static void setCompilerMode(SpelCompilerMode mode) {
+		compilerMode = mode;
+	}
+
+	/**
+	 * Parser configuration reading the compiler mode on each evaluation, because
+	 * expressions are parsed by option converters before the compiler mode option
+	 * is known.
+	 */
+	private static class CompilerConfiguration extends SpelParserConfiguration {
+
+		public CompilerConfiguration() {
+			super(SpelCompilerMode.OFF, Expression.class.getClassLoader());
+		}
+
+		@Override
+		public SpelCompilerMode getCompilerMode() {
+			return compilerMode;
+		}
+
+	}
+
 }
@@ -0,0 +1,144 @@
+package com.redis.riot.core;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+
+/**
+ * Emits Flight Recorder events for the read, process and write phases of each
+ * chunk of a step. Item sizes are only estimated while the events are enabled
+ * in a recording, so that the listener costs next to nothing otherwise.
+ *
+ * @param <I> input item type
+ * @param <O> output item type
+ */
+public class FlightRecorderStepListener<I, O>
+		implements ChunkListener, ItemReadListener<I>, ItemProcessListener<I, O>, ItemWriteListener<O> {
+
+	private final String step;
+	private final ThreadLocal<ChunkEvents> events = ThreadLocal.withInitial(ChunkEvents::new);
+
+	private ToLongFunction<Object> sizeEstimator = new ItemSizeEstimator();
+
+	public FlightRecorderStepListener(String step) {
+		this.step = step;
+	}
+
+	@Override
+	public void beforeChunk(ChunkContext context) {
+		ChunkEvents chunk = events.get();
+		chunk.read = begin(new ChunkReadEvent());
+		chunk.process = null;
+	}
+
+	@Override
+	public void afterRead(I item) {
+		ChunkReadEvent read = events.get().read;
+		if (read != null) {
+			read.items++;
+			if (read.isEnabled()) {
+				read.bytes += sizeEstimator.applyAsLong(item);
+			}
+		}
+	}
+
+	@Override
+	public void beforeProcess(I item) {
+		ChunkEvents chunk = events.get();
+		chunk.read = commit(chunk.read);
+		if (chunk.process == null) {
+			chunk.process = begin(new ChunkProcessEvent());
+		}
+		chunk.process.items++;
+	}
+
+	@Override
+	public void afterProcess(I item, O result) {
+		ChunkProcessEvent process = events.get().process;
+		if (process != null && result != null && process.isEnabled()) {
+			process.bytes += sizeEstimator.applyAsLong(result);
+		}
+	}
+
+	@Override
+	public void beforeWrite(Chunk<? extends O> items) {
+		ChunkEvents chunk = events.get();
+		chunk.read = commit(chunk.read);
+		chunk.process = commit(chunk.process);
+		chunk.write = begin(new ChunkWriteEvent());
+		chunk.write.items = items.size();
+		if (chunk.write.isEnabled()) {
+			for (O item : items) {
+				chunk.write.bytes += sizeEstimator.applyAsLong(item);
+			}
+		}
+	}
+
+	@Override
+	public void afterWrite(Chunk<? extends O> items) {
+		ChunkEvents chunk = events.get();
+		chunk.write = commit(chunk.write);
+	}
+
+	@Override
+	public void onWriteError(Exception exception, Chunk<? extends O> items) {
+		ChunkEvents chunk = events.get();
+		chunk.write = commit(chunk.write);
+	}
+
+	@Override
+	public void afterChunk(ChunkContext context) {
+		commitAll();
+	}
+
+	@Override
+	public void afterChunkError(ChunkContext context) {
+		commitAll();
+	}
+
+	/**
+	 * Commits events of a chunk that ended before reaching the write phase, e.g.
+	 * when all items were filtered out. The last, empty read of a step is not
+	 * recorded.
+	 */
+	private void commitAll() {
+		ChunkEvents chunk = events.get();
+		if (chunk.read != null && chunk.read.items == 0) {
+			chunk.read = null;
+		}
+		chunk.read = commit(chunk.read);
+		chunk.process = commit(chunk.process);
+		chunk.write = commit(chunk.write);
+	}
+
+	private <T extends AbstractChunkEvent> T begin(T event) {
+		event.step = step;
+		event.begin();
+		return event;
+	}
+
+	private static <T extends AbstractChunkEvent> T commit(T event) {
+		if (event != null && event.shouldCommit()) {
+			event.commit();
+		}
+		return null;
+	}
+
+	public void setSizeEstimator(ToLongFunction<Object> estimator) {
+		this.sizeEstimator = estimator;
+	}
+
+	private static class ChunkEvents {
+
+		private ChunkReadEvent read;
+		private ChunkProcessEvent process;
+		private ChunkWriteEvent write;
+
+	}
+
+}
@@ -0,0 +1,223 @@
+package com.redis.riot.core;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameter;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.util.Assert;
+
+/**
+ * {@link JobRepository} keeping job metadata in memory. Unlike the
+ * transactional repository it does not copy or serialize executions: updates
+ * only bump versions and timestamps on the instances handed in, which are the
+ * ones held by the repository.
+ */
+public class InMemoryJobRepository implements JobRepository {
+
+	private final AtomicLong ids = new AtomicLong();
+	private final Map<String, List<JobInstance>> jobInstances = new ConcurrentHashMap<>();
+	private final Map<Long, JobParameters> jobInstanceParameters = new ConcurrentHashMap<>();
+	private final Map<Long, List<JobExecution>> jobExecutions = new ConcurrentHashMap<>();
+
+	@Override
+	public List<String> getJobNames() {
+		return new ArrayList<>(jobInstances.keySet());
+	}
+
+	@Override
+	public List<JobInstance> findJobInstancesByName(String jobName, int start, int count) {
+		List<JobInstance> instances = jobInstances.getOrDefault(jobName, Collections.emptyList());
+		List<JobInstance> reversed = new ArrayList<>(instances);
+		Collections.reverse(reversed);
+		return reversed.subList(Math.min(start, reversed.size()), Math.min(start + count, reversed.size()));
+	}
+
+	@Override
+	public List<JobExecution> findJobExecutions(JobInstance jobInstance) {
+		return new ArrayList<>(executions(jobInstance));
+	}
+
+	@Override
+	public JobInstance getJobInstance(String jobName, JobParameters jobParameters) {
+		for (JobInstance instance : jobInstances.getOrDefault(jobName, Collections.emptyList())) {
+			if (Objects.equals(identifying(jobInstanceParameters.get(instance.getInstanceId())),
+					identifying(jobParameters))) {
+				return instance;
+			}
+		}
+		return null;
+	}
+
+	private static Map<String, JobParameter<?>> identifying(JobParameters parameters) {
+		return parameters == null ? Collections.emptyMap() : parameters.getIdentifyingParameters();
+	}
+
+	@Override
+	public boolean isJobInstanceExists(String jobName, JobParameters jobParameters) {
+		return getJobInstance(jobName, jobParameters) != null;
+	}
+
+	@Override
+	public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+		Assert.state(!isJobInstanceExists(jobName, jobParameters),
+				"JobInstance must not already exist for job " + jobName);
+		JobInstance instance = new JobInstance(ids.incrementAndGet(), jobName);
+		instance.incrementVersion();
+		jobInstanceParameters.put(instance.getInstanceId(), jobParameters);
+		jobExecutions.put(instance.getInstanceId(), new CopyOnWriteArrayList<>());
+		jobInstances.computeIfAbsent(jobName, k -> new CopyOnWriteArrayList<>()).add(instance);
+		return instance;
+	}
+
+	@Override
+	public JobExecution createJobExecution(String jobName, JobParameters jobParameters)
+			throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException {
+		JobInstance instance = getJobInstance(jobName, jobParameters);
+		ExecutionContext executionContext;
+		if (instance == null) {
+			instance = createJobInstance(jobName, jobParameters);
+			executionContext = new ExecutionContext();
+		} else {
+			List<JobExecution> executions = executions(instance);
+			for (JobExecution execution : executions) {
+				if (execution.isRunning()) {
+					throw new JobExecutionAlreadyRunningException(
+							"A job execution for this job is already running: " + instance);
+				}
+				if (execution.getStatus() == BatchStatus.UNKNOWN) {
+					throw new JobRestartException("Cannot restart job from UNKNOWN status: " + instance);
+				}
+				if (!execution.getJobParameters().getIdentifyingParameters().isEmpty()
+						&& (execution.getStatus() == BatchStatus.COMPLETED
+								|| execution.getStatus() == BatchStatus.ABANDONED)) {
+					throw new JobInstanceAlreadyCompleteException(
+							"A job instance already exists and is complete for identifying parameters="
+									+ jobParameters.getIdentifyingParameters());
+				}
+			}
+			executionContext = executions.isEmpty() ? new ExecutionContext()
+					: new ExecutionContext(executions.get(executions.size() - 1).getExecutionContext());
+		}
+		JobExecution execution = new JobExecution(instance, ids.incrementAndGet(), jobParameters);
+		execution.setExecutionContext(executionContext);
+		execution.setLastUpdated(LocalDateTime.now());
+		execution.incrementVersion();
+		executions(instance).add(execution);
+		return execution;
+	}
+
+	/**
+	 * Registers a job execution and its instance created outside of this
+	 * repository, e.g. restored from a previous run.
+	 */
+	protected void restore(JobExecution execution) {
+		JobInstance instance = execution.getJobInstance();
+		if (!jobExecutions.containsKey(instance.getInstanceId())) {
+			jobInstanceParameters.put(instance.getInstanceId(), execution.getJobParameters());
+			jobExecutions.put(instance.getInstanceId(), new CopyOnWriteArrayList<>());
+			jobInstances.computeIfAbsent(instance.getJobName(), k -> new CopyOnWriteArrayList<>()).add(instance);
+		}
+		executions(instance).add(execution);
+		ids.accumulateAndGet(instance.getInstanceId(), Math::max);
+		ids.accumulateAndGet(execution.getId(), Math::max);
+		execution.getStepExecutions().forEach(s -> ids.accumulateAndGet(s.getId(), Math::max));
+	}
+
+	private List<JobExecution> executions(JobInstance instance) {
+		return jobExecutions.getOrDefault(instance.getInstanceId(), Collections.emptyList());
+	}
+
+	@Override
+	public void update(JobExecution jobExecution) {
+		jobExecution.setLastUpdated(LocalDateTime.now());
+		jobExecution.incrementVersion();
+	}
+
+	@Override
+	public void add(StepExecution stepExecution) {
+		Assert.notNull(stepExecution.getJobExecutionId(), "StepExecution must belong to a persisted JobExecution");
+		stepExecution.setId(ids.incrementAndGet());
+		stepExecution.setLastUpdated(LocalDateTime.now());
+		stepExecution.incrementVersion();
+	}
+
+	@Override
+	public void addAll(Collection<StepExecution> stepExecutions) {
+		stepExecutions.forEach(this::add);
+	}
+
+	@Override
+	public void update(StepExecution stepExecution) {
+		stepExecution.setLastUpdated(LocalDateTime.now());
+		stepExecution.incrementVersion();
+		if (stepExecution.getJobExecution().isStopping()) {
+			stepExecution.setTerminateOnly();
+		}
+	}
+
+	@Override
+	public void updateExecutionContext(StepExecution stepExecution) {
+		// Execution context is held by the step execution itself
+	}
+
+	@Override
+	public void updateExecutionContext(JobExecution jobExecution) {
+		// Execution context is held by the job execution itself
+	}
+
+	@Override
+	public StepExecution getLastStepExecution(JobInstance jobInstance, String stepName) {
+		StepExecution last = null;
+		for (JobExecution jobExecution : executions(jobInstance)) {
+			for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+				if (stepExecution.getStepName().equals(stepName) && stepExecution.getId() != null
+						&& (last == null || stepExecution.getId() > last.getId())) {
+					last = stepExecution;
+				}
+			}
+		}
+		return last;
+	}
+
+	@Override
+	public long getStepExecutionCount(JobInstance jobInstance, String stepName) {
+		long count = 0;
+		for (JobExecution jobExecution : executions(jobInstance)) {
+			for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+				if (stepExecution.getStepName().equals(stepName) && stepExecution.getId() != null) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public JobExecution getLastJobExecution(String jobName, JobParameters jobParameters) {
+		JobInstance instance = getJobInstance(jobName, jobParameters);
+		if (instance == null) {
+			return null;
+		}
+		List<JobExecution> executions = executions(instance);
+		return executions.isEmpty() ? null : executions.get(executions.size() - 1);
+	}
+
+}
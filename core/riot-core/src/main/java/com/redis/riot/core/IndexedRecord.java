@@ -0,0 +1,269 @@
+package com.redis.riot.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact record holding field values in an array indexed by a shared
+ * {@link RecordSchema} instead of hash map entries. Fields outside of the schema,
+ * e.g. added by processors, are kept in a regular map.
+ * <p>
+ * Field slots can be resolved once per schema with
+ * {@link RecordSchema#indexOf(Object)} and then accessed with
+ * {@link #get(int)}, avoiding field name lookups. Like {@link java.util.HashMap}
+ * this map is not thread-safe and allows null values.
+ */
+public class IndexedRecord extends AbstractMap<String, Object> {
+
+	private static final Object ABSENT = new Object();
+
+	private final RecordSchema schema;
+	private final Object[] values;
+	private int count;
+	private Map<String, Object> extraFields;
+	private Set<Entry<String, Object>> entrySet;
+
+	public IndexedRecord(RecordSchema schema) {
+		this.schema = schema;
+		this.values = new Object[schema.size()];
+		Arrays.fill(values, ABSENT);
+	}
+
+	public RecordSchema getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @return value in the given slot, or null if the field is absent
+	 */
+	public Object get(int index) {
+		Object value = values[index];
+		return value == ABSENT ? null : value;
+	}
+
+	/**
+	 * @return previous value in the given slot, or null if the field was absent
+	 */
+	public Object put(int index, Object value) {
+		Object previous = values[index];
+		values[index] = value;
+		if (previous == ABSENT) {
+			count++;
+			return null;
+		}
+		return previous;
+	}
+
+	/**
+	 * @return value removed from the given slot, or null if the field was absent
+	 */
+	public Object remove(int index) {
+		Object previous = values[index];
+		if (previous == ABSENT) {
+			return null;
+		}
+		values[index] = ABSENT;
+		count--;
+		return previous;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return get(index);
+		}
+		return extraFields == null ? null : extraFields.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return values[index] != ABSENT;
+		}
+		return extraFields != null && extraFields.containsKey(key);
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return put(index, value);
+		}
+		if (extraFields == null) {
+			extraFields = new LinkedHashMap<>();
+		}
+		return extraFields.put(key, value);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		int index = schema.indexOf(key);
+		if (index >= 0) {
+			return remove(index);
+		}
+		return extraFields == null ? null : extraFields.remove(key);
+	}
+
+	@Override
+	public int size() {
+		return count + (extraFields == null ? 0 : extraFields.size());
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(values, ABSENT);
+		count = 0;
+		extraFields = null;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super Object> action) {
+		for (int index = 0; index < values.length; index++) {
+			if (values[index] != ABSENT) {
+				action.accept(schema.getField(index), values[index]);
+			}
+		}
+		if (extraFields != null) {
+			extraFields.forEach(action);
+		}
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return IndexedRecord.this.size();
+		}
+
+		@Override
+		public void clear() {
+			IndexedRecord.this.clear();
+		}
+
+	}
+
+	private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+		private int next = nextSlot(0);
+		private int last = -1;
+		private Iterator<Entry<String, Object>> extraIterator;
+
+		private int nextSlot(int from) {
+			int index = from;
+			while (index < values.length && values[index] == ABSENT) {
+				index++;
+			}
+			return index;
+		}
+
+		private Iterator<Entry<String, Object>> extraIterator() {
+			if (extraIterator == null) {
+				extraIterator = extraFields == null ? null : extraFields.entrySet().iterator();
+			}
+			return extraIterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next < values.length) {
+				return true;
+			}
+			return extraIterator() != null && extraIterator.hasNext();
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (next < values.length) {
+				last = next;
+				next = nextSlot(next + 1);
+				return new SlotEntry(last);
+			}
+			if (extraIterator() == null) {
+				throw new NoSuchElementException();
+			}
+			last = -1;
+			return extraIterator.next();
+		}
+
+		@Override
+		public void remove() {
+			if (last >= 0) {
+				IndexedRecord.this.remove(last);
+				last = -1;
+			} else if (extraIterator != null) {
+				extraIterator.remove();
+			} else {
+				throw new IllegalStateException();
+			}
+		}
+
+	}
+
+	private class SlotEntry implements Entry<String, Object> {
+
+		private final int index;
+
+		public SlotEntry(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public String getKey() {
+			return schema.getField(index);
+		}
+
+		@Override
+		public Object getValue() {
+			return IndexedRecord.this.get(index);
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			return IndexedRecord.this.put(index, value);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.redis.riot.core;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import com.redis.spring.batch.item.redis.common.KeyValue;
+
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.Value;
+
+/**
+ * Estimates the number of bytes an item represents on the wire, e.g. field
+ * names and values of a map or key and value of a Redis key/value.
+ */
+public class ItemSizeEstimator implements ToLongFunction<Object> {
+
+	private static final int NUMBER_SIZE = Long.BYTES;
+
+	@Override
+	public long applyAsLong(Object item) {
+		return estimate(item);
+	}
+
+	@SuppressWarnings("rawtypes")
+	private long estimate(Object object) {
+		if (object == null) {
+			return 0;
+		}
+		if (object instanceof byte[]) {
+			return ((byte[]) object).length;
+		}
+		if (object instanceof CharSequence) {
+			return utf8Length((CharSequence) object);
+		}
+		if (object instanceof Number || object instanceof Boolean) {
+			return NUMBER_SIZE;
+		}
+		if (object instanceof KeyValue) {
+			KeyValue keyValue = (KeyValue) object;
+			return estimate(keyValue.getKey()) + estimate(keyValue.getValue());
+		}
+		if (object instanceof Map) {
+			long size = 0;
+			for (Object entry : ((Map) object).entrySet()) {
+				size += estimate(((Map.Entry) entry).getKey()) + estimate(((Map.Entry) entry).getValue());
+			}
+			return size;
+		}
+		if (object instanceof Collection) {
+			long size = 0;
+			for (Object element : (Collection) object) {
+				size += estimate(element);
+			}
+			return size;
+		}
+		if (object instanceof StreamMessage) {
+			StreamMessage message = (StreamMessage) object;
+			return estimate(message.getId()) + estimate(message.getBody());
+		}
+		if (object instanceof Value) {
+			return estimate(((Value) object).getValueOrElse(null)) + NUMBER_SIZE;
+		}
+		if (object.getClass().isArray()) {
+			long size = 0;
+			for (int index = 0; index < Array.getLength(object); index++) {
+				size += estimate(Array.get(object, index));
+			}
+			return size;
+		}
+		return estimate(object.toString());
+	}
+
+	/**
+	 * Counts the UTF-8 encoded length of the given characters without encoding
+	 * them. Unpaired surrogates count as the single replacement byte the encoder
+	 * writes for them.
+	 */
+	static long utf8Length(CharSequence chars) {
+		int length = chars.length();
+		long size = length;
+		for (int index = 0; index < length; index++) {
+			char c = chars.charAt(index);
+			if (c < 0x80) {
+				continue;
+			}
+			if (c < 0x800) {
+				size++;
+			} else if (Character.isSurrogate(c)) {
+				if (Character.isHighSurrogate(c) && index + 1 < length
+						&& Character.isLowSurrogate(chars.charAt(index + 1))) {
+					// 4 bytes for 2 chars
+					size += 2;
+					index++;
+				}
+			} else {
+				size += 2;
+			}
+		}
+		return size;
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe cache holding at most a given number of entries, evicting the
+ * least recently used ones first. Entries optionally expire a fixed time after
+ * they were put in the cache.
+ */
+public class LruCache<K, V> {
+
+	private final int capacity;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+	private final Map<K, Entry<V>> entries;
+
+	/**
+	 * @param capacity max number of entries. A capacity of 0 disables caching.
+	 * @param ttl      time after which entries expire, or zero for entries to
+	 *                 never expire
+	 */
+	public LruCache(int capacity, Duration ttl) {
+		this(capacity, ttl, System::nanoTime);
+	}
+
+	LruCache(int capacity, Duration ttl, LongSupplier clock) {
+		Assert.isTrue(capacity >= 0, "Capacity must be greater than or equal to 0");
+		Assert.isTrue(!ttl.isNegative(), "TTL must not be negative");
+		this.capacity = capacity;
+		this.ttlNanos = ttl.toNanos();
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, .75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > capacity;
+			}
+
+		};
+	}
+
+	/**
+	 * @return the value cached for the given key or null if there is none or it
+	 *         expired
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (ttlNanos > 0 && clock.getAsLong() - entry.time > ttlNanos) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		Assert.notNull(value, "Value must not be null");
+		if (capacity > 0) {
+			entries.put(key, new Entry<>(value, clock.getAsLong()));
+		}
+	}
+
+	/**
+	 * Removes the entry for the given key only if it is mapped to the given value.
+	 */
+	public synchronized void remove(K key, V value) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null && entry.value == value) {
+			entries.remove(key);
+		}
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static class Entry<V> {
+
+		private final V value;
+		private final long time;
+
+		public Entry(V value, long time) {
+			this.value = value;
+			this.time = time;
+		}
+
+	}
+
+}
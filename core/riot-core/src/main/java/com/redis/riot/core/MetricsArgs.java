@@ -0,0 +1,52 @@
+package com.redis.riot.core;
+
+import picocli.CommandLine.Option;
+
+public class MetricsArgs {
+
+	public static final String DEFAULT_HOST = "localhost";
+	public static final String DEFAULT_PATH = "/metrics";
+
+	@Option(names = "--metrics-port", description = "Port of the HTTP endpoint serving metrics in OpenMetrics format (default: no endpoint).", paramLabel = "<port>")
+	private int port;
+
+	@Option(names = "--metrics-host", description = "Address the metrics endpoint listens on, e.g. 0.0.0.0 for all interfaces (default: ${DEFAULT-VALUE}).", paramLabel = "<host>")
+	private String host = DEFAULT_HOST;
+
+	@Option(names = "--metrics-path", description = "Path of the metrics endpoint (default: ${DEFAULT-VALUE}).", paramLabel = "<path>", hidden = true)
+	private String path = DEFAULT_PATH;
+
+	public boolean isEnabled() {
+		return port > 0;
+	}
+
+	public int getPort() {
+		return port;
+	}
+
+	public void setPort(int port) {
+		this.port = port;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public void setHost(String host) {
+		this.host = host;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	@Override
+	public String toString() {
+		return "MetricsArgs [port=" + port + ", host=" + host + ", path=" + path + "]";
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.redis.riot.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Embedded HTTP endpoint serving the metrics of the global registry in
+ * OpenMetrics format. Meters are only serialized when the endpoint is scraped
+ * so that recording them stays cheap. The endpoint listens on the given host
+ * only, e.g. the loopback interface for {@code localhost}.
+ */
+public class MetricsServer implements AutoCloseable {
+
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+	private final HttpServer server;
+	private final String host;
+	private final String path;
+
+	public MetricsServer(String host, int port, String path) throws IOException {
+		this.host = host;
+		this.path = path;
+		this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		server.createContext(path, this::scrape);
+	}
+
+	public void start() {
+		Metrics.addRegistry(registry);
+		server.start();
+		log.info("Serving metrics at http://{}:{}{}", host, getPort(), path);
+	}
+
+	private void scrape(HttpExchange exchange) throws IOException {
+		try {
+			byte[] body = registry.scrape(CONTENT_TYPE).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	public int getPort() {
+		return getAddress().getPort();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		Metrics.removeRegistry(registry);
+		registry.close();
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.redis.riot.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records per-phase metrics of a step: read, process and write timers, item and
+ * byte counters, error, skip and retry counters, and the number of chunks being
+ * written concurrently. A single listener is shared by all threads and
+ * partitions of a step.
+ *
+ * @param <I> input item type
+ * @param <O> output item type
+ */
+public class MetricsStepListener<I, O>
+		implements ItemReadListener<I>, ItemProcessListener<I, O>, ItemWriteListener<O>, SkipListener<I, O>,
+		RetryListener {
+
+	public static final String METRIC_PREFIX = "riot.step.";
+
+	private static final String PHASE_TAG = "phase";
+	private static final String READ = "read";
+	private static final String PROCESS = "process";
+	private static final String WRITE = "write";
+
+	private final Timer readTimer;
+	private final Timer processTimer;
+	private final Timer writeTimer;
+	private final Counter readItems;
+	private final Counter filteredItems;
+	private final Counter writtenItems;
+	private final Counter writtenBytes;
+	private final Counter readSkips;
+	private final Counter processSkips;
+	private final Counter writeSkips;
+	private final Counter readErrors;
+	private final Counter processErrors;
+	private final Counter writeErrors;
+	private final Counter retries;
+	private final AtomicInteger activeWrites = new AtomicInteger();
+	private final ThreadLocal<long[]> startTimes = ThreadLocal.withInitial(() -> new long[3]);
+
+	private ToLongFunction<Object> sizeEstimator = new ItemSizeEstimator();
+
+	public MetricsStepListener(MeterRegistry registry, Tags tags) {
+		this.readTimer = timer(registry, READ, tags);
+		this.processTimer = timer(registry, PROCESS, tags);
+		this.writeTimer = timer(registry, WRITE, tags);
+		this.readItems = registry.counter(METRIC_PREFIX + "items", tags.and(PHASE_TAG, READ));
+		this.filteredItems = registry.counter(METRIC_PREFIX + "items", tags.and(PHASE_TAG, "filter"));
+		this.writtenItems = registry.counter(METRIC_PREFIX + "items", tags.and(PHASE_TAG, WRITE));
+		this.writtenBytes = registry.counter(METRIC_PREFIX + "bytes", tags.and(PHASE_TAG, WRITE));
+		this.readSkips = registry.counter(METRIC_PREFIX + "skips", tags.and(PHASE_TAG, READ));
+		this.processSkips = registry.counter(METRIC_PREFIX + "skips", tags.and(PHASE_TAG, PROCESS));
+		this.writeSkips = registry.counter(METRIC_PREFIX + "skips", tags.and(PHASE_TAG, WRITE));
+		this.readErrors = registry.counter(METRIC_PREFIX + "errors", tags.and(PHASE_TAG, READ));
+		this.processErrors = registry.counter(METRIC_PREFIX + "errors", tags.and(PHASE_TAG, PROCESS));
+		this.writeErrors = registry.counter(METRIC_PREFIX + "errors", tags.and(PHASE_TAG, WRITE));
+		this.retries = registry.counter(METRIC_PREFIX + "retries", tags);
+		Gauge.builder(METRIC_PREFIX + "writes.active", activeWrites, AtomicInteger::get).tags(tags)
+				.description("Number of chunks being written, i.e. writer connections in use").register(registry);
+	}
+
+	private static Timer timer(MeterRegistry registry, String phase, Tags tags) {
+		return Timer.builder(METRIC_PREFIX + phase).tags(tags).register(registry);
+	}
+
+	@Override
+	public void beforeRead() {
+		startTimes.get()[0] = System.nanoTime();
+	}
+
+	@Override
+	public void afterRead(I item) {
+		readTimer.record(System.nanoTime() - startTimes.get()[0], TimeUnit.NANOSECONDS);
+		readItems.increment();
+	}
+
+	@Override
+	public void onReadError(Exception ex) {
+		readTimer.record(System.nanoTime() - startTimes.get()[0], TimeUnit.NANOSECONDS);
+		readErrors.increment();
+	}
+
+	@Override
+	public void beforeProcess(I item) {
+		startTimes.get()[1] = System.nanoTime();
+	}
+
+	@Override
+	public void afterProcess(I item, O result) {
+		processTimer.record(System.nanoTime() - startTimes.get()[1], TimeUnit.NANOSECONDS);
+		if (result == null) {
+			filteredItems.increment();
+		}
+	}
+
+	@Override
+	public void onProcessError(I item, Exception e) {
+		processTimer.record(System.nanoTime() - startTimes.get()[1], TimeUnit.NANOSECONDS);
+		processErrors.increment();
+	}
+
+	@Override
+	public void beforeWrite(Chunk<? extends O> items) {
+		activeWrites.incrementAndGet();
+		startTimes.get()[2] = System.nanoTime();
+	}
+
+	@Override
+	public void afterWrite(Chunk<? extends O> items) {
+		writeTimer.record(System.nanoTime() - startTimes.get()[2], TimeUnit.NANOSECONDS);
+		activeWrites.decrementAndGet();
+		writtenItems.increment(items.size());
+		long bytes = 0;
+		for (O item : items) {
+			bytes += sizeEstimator.applyAsLong(item);
+		}
+		writtenBytes.increment(bytes);
+	}
+
+	@Override
+	public void onWriteError(Exception exception, Chunk<? extends O> items) {
+		writeTimer.record(System.nanoTime() - startTimes.get()[2], TimeUnit.NANOSECONDS);
+		activeWrites.decrementAndGet();
+		writeErrors.increment();
+	}
+
+	@Override
+	public void onSkipInRead(Throwable t) {
+		readSkips.increment();
+	}
+
+	@Override
+	public void onSkipInProcess(I item, Throwable t) {
+		processSkips.increment();
+	}
+
+	@Override
+	public void onSkipInWrite(O item, Throwable t) {
+		writeSkips.increment();
+	}
+
+	@Override
+	public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+			Throwable throwable) {
+		retries.increment();
+	}
+
+	public void setSizeEstimator(ToLongFunction<Object> estimator) {
+		this.sizeEstimator = estimator;
+	}
+
+}
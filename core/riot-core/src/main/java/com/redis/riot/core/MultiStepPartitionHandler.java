@@ -0,0 +1,82 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.StepExecutionSplitter;
+import org.springframework.batch.core.partition.support.PartitionNameProvider;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PartitionHandler} that runs each partition with its own worker step
+ * (e.g. one step per source cluster node) instead of executing the same step
+ * for every partition. On restart only the partitions that did not complete are
+ * executed again.
+ */
+public class MultiStepPartitionHandler implements PartitionHandler, Partitioner, PartitionNameProvider {
+
+	public static final String PARTITION_KEY = "partition";
+
+	private final List<Step> steps;
+
+	private TaskExecutor taskExecutor = new SyncTaskExecutor();
+
+	public MultiStepPartitionHandler(List<Step> steps) {
+		Assert.notEmpty(steps, "At least one step must be specified");
+		this.steps = steps;
+	}
+
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+		for (int index = 0; index < steps.size(); index++) {
+			ExecutionContext context = new ExecutionContext();
+			context.putInt(PARTITION_KEY, index);
+			partitions.put(PARTITION_KEY + index, context);
+		}
+		return partitions;
+	}
+
+	@Override
+	public Collection<String> getPartitionNames(int gridSize) {
+		return partition(gridSize).keySet();
+	}
+
+	@Override
+	public Collection<StepExecution> handle(StepExecutionSplitter stepSplitter, StepExecution managerStepExecution)
+			throws Exception {
+		Set<StepExecution> stepExecutions = stepSplitter.split(managerStepExecution, steps.size());
+		List<FutureTask<StepExecution>> tasks = new ArrayList<>();
+		for (StepExecution stepExecution : stepExecutions) {
+			Step step = steps.get(stepExecution.getExecutionContext().getInt(PARTITION_KEY));
+			FutureTask<StepExecution> task = new FutureTask<>(() -> {
+				step.execute(stepExecution);
+				return stepExecution;
+			});
+			taskExecutor.execute(task);
+			tasks.add(task);
+		}
+		List<StepExecution> results = new ArrayList<>();
+		for (FutureTask<StepExecution> task : tasks) {
+			results.add(task.get());
+		}
+		return results;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.redis.riot.core;
+
+import java.text.DecimalFormat;
+import java.text.ParseException;
+
+/**
+ * Thread-safe replacement for {@link DecimalFormat} in SpEL expressions. Each
+ * thread formats and parses with its own copy of the format.
+ */
+public class NumberFormatter {
+
+	private final String pattern;
+	private final ThreadLocal<DecimalFormat> formats;
+
+	public NumberFormatter(String pattern) {
+		this.pattern = pattern;
+		this.formats = ThreadLocal.withInitial(() -> new DecimalFormat(pattern));
+	}
+
+	public Number parse(String source) throws ParseException {
+		return formats.get().parse(source);
+	}
+
+	public String format(Object number) {
+		return formats.get().format(number);
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+}
@@ -0,0 +1,355 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Writer that pipelines processing and writing: items of a chunk are processed
+ * on a dedicated pool of threads and the processed chunk is then written by a
+ * writer thread, while the step thread goes on reading and handing over the
+ * next chunk. The number of chunks in flight is bounded by
+ * {@link #setCapacity(int) capacity} and the number of chunks written
+ * concurrently by {@link #setWriteThreads(int) write threads}.
+ * <p>
+ * {@link #write(Chunk)} returns once the chunk has been handed over. Outcomes of
+ * written chunks are checked when the step updates its streams, right before
+ * each commit: a write failure fails the step at the next chunk, and the last
+ * chunks are waited for when the step thread reads an empty chunk at the end of
+ * the input. Items filtered by the processor are reported to the step as a
+ * {@link StepContribution}. Process listeners added to this writer are called
+ * from the processor threads.
+ * <p>
+ * This writer must be registered as a {@link StepExecutionListener} and
+ * {@link ChunkListener} of its step.
+ *
+ * @param <I> input item type
+ * @param <O> output item type
+ */
+public class PipelineItemWriter<I, O> implements ItemStreamWriter<I>, StepExecutionListener, ChunkListener {
+
+	public static final int DEFAULT_THREADS = 1;
+	public static final int DEFAULT_WRITE_THREADS = 1;
+	public static final int DEFAULT_CAPACITY = 2;
+
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
+	private final ItemProcessor<? super I, ? extends O> processor;
+	private final ItemWriter<? super O> writer;
+	private final ToLongFunction<Object> sizeEstimator = new ItemSizeEstimator();
+	private final List<ItemProcessListener<? super I, ? super O>> processListeners = new ArrayList<>();
+	private final Queue<Future<Integer>> pending = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Boolean> handedOver = new ThreadLocal<>();
+
+	private int threads = DEFAULT_THREADS;
+	private int writeThreads = DEFAULT_WRITE_THREADS;
+	private int capacity = DEFAULT_CAPACITY;
+	private String threadNamePrefix = "pipeline-";
+
+	private StepExecution stepExecution;
+	private ExecutorService processExecutor;
+	private ExecutorService writeExecutor;
+	private Semaphore permits;
+
+	public PipelineItemWriter(ItemProcessor<? super I, ? extends O> processor, ItemWriter<? super O> writer) {
+		Assert.notNull(writer, "Writer must not be null");
+		this.processor = processor;
+		this.writer = writer;
+	}
+
+	public void addProcessListener(ItemProcessListener<? super I, ? super O> listener) {
+		processListeners.add(listener);
+	}
+
+	@Override
+	public void beforeStep(StepExecution stepExecution) {
+		this.stepExecution = stepExecution;
+	}
+
+	@Override
+	public void beforeChunk(ChunkContext context) {
+		handedOver.remove();
+	}
+
+	@Override
+	public synchronized void open(ExecutionContext executionContext) {
+		if (writer instanceof ItemStream) {
+			((ItemStream) writer).open(executionContext);
+		}
+		if (processExecutor == null) {
+			processExecutor = Executors.newFixedThreadPool(threads,
+					new CustomizableThreadFactory(threadNamePrefix + "proc-"));
+			writeExecutor = Executors.newFixedThreadPool(writeThreads,
+					new CustomizableThreadFactory(threadNamePrefix + "write-"));
+			permits = new Semaphore(capacity);
+		}
+	}
+
+	/**
+	 * Called by the step before each commit. Waits for all chunks in flight when
+	 * the current chunk was empty, i.e. the step thread reached the end of the
+	 * input.
+	 */
+	@Override
+	public void update(ExecutionContext executionContext) {
+		boolean end = handedOver.get() == null;
+		handedOver.remove();
+		try {
+			collect(end);
+		} catch (Exception e) {
+			throw new ItemStreamException("Could not write pipelined chunk", e);
+		}
+		if (writer instanceof ItemStream) {
+			((ItemStream) writer).update(executionContext);
+		}
+	}
+
+	/**
+	 * Fails the step if chunks in flight could not be written and the step did not
+	 * check them itself, e.g. because it was stopped.
+	 */
+	@Override
+	public ExitStatus afterStep(StepExecution stepExecution) {
+		if (pending.isEmpty() || stepExecution.getStatus().isUnsuccessful()) {
+			return null;
+		}
+		try {
+			collect(true);
+		} catch (Exception e) {
+			stepExecution.setStatus(BatchStatus.FAILED);
+			stepExecution.addFailureException(e);
+			return ExitStatus.FAILED.addExitDescription(e);
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized void close() {
+		if (processExecutor != null) {
+			try {
+				permits.acquire(capacity);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writeExecutor.shutdown();
+			processExecutor.shutdown();
+			processExecutor = null;
+			writeExecutor = null;
+			permits = null;
+		}
+		for (Future<Integer> future : pending) {
+			try {
+				future.get();
+			} catch (Exception e) {
+				log.error("Could not write pipelined chunk", e);
+			}
+		}
+		pending.clear();
+		if (writer instanceof ItemStream) {
+			((ItemStream) writer).close();
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends I> chunk) throws Exception {
+		handedOver.set(Boolean.TRUE);
+		acquire();
+		try {
+			checkFailures();
+		} catch (Exception e) {
+			permits.release();
+			throw e;
+		}
+		List<Future<O>> futures = new ArrayList<>(chunk.size());
+		try {
+			for (I item : chunk) {
+				futures.add(processExecutor.submit(() -> process(item)));
+			}
+			pending.add(writeExecutor.submit(() -> write(futures)));
+		} catch (RuntimeException e) {
+			futures.forEach(f -> f.cancel(true));
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void checkFailures() throws Exception {
+		for (Future<Integer> future : pending) {
+			if (future.isDone()) {
+				get(future);
+			}
+		}
+	}
+
+	/**
+	 * Removes written chunks from the chunks in flight and reports the items they
+	 * filtered out to the step.
+	 * 
+	 * @param wait whether to wait for all chunks in flight
+	 */
+	private void collect(boolean wait) throws Exception {
+		int filtered = 0;
+		try {
+			Iterator<Future<Integer>> iterator = pending.iterator();
+			while (iterator.hasNext()) {
+				Future<Integer> future = iterator.next();
+				if (wait || future.isDone()) {
+					iterator.remove();
+					filtered += get(future);
+				}
+			}
+		} finally {
+			if (filtered > 0 && stepExecution != null) {
+				// The step counted these items as written when their chunk was handed over
+				StepContribution contribution = stepExecution.createStepContribution();
+				contribution.incrementFilterCount(filtered);
+				contribution.incrementWriteCount(-filtered);
+				stepExecution.apply(contribution);
+			}
+		}
+	}
+
+	private static int get(Future<Integer> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * Blocks while the maximum number of chunks are in flight, i.e. the writer is
+	 * the bottleneck of the step.
+	 */
+	private void acquire() throws InterruptedException {
+		if (permits.tryAcquire()) {
+			return;
+		}
+		QueueWaitEvent event = new QueueWaitEvent();
+		event.queue = threadNamePrefix + "write";
+		event.items = capacity;
+		event.begin();
+		permits.acquire();
+		event.commit();
+	}
+
+	private O process(I item) throws Exception {
+		if (processor == null) {
+			@SuppressWarnings("unchecked")
+			O output = (O) item;
+			return output;
+		}
+		processListeners.forEach(l -> l.beforeProcess(item));
+		O output;
+		try {
+			output = processor.process(item);
+		} catch (Exception e) {
+			processListeners.forEach(l -> l.onProcessError(item, e));
+			throw e;
+		}
+		processListeners.forEach(l -> l.afterProcess(item, output));
+		return output;
+	}
+
+	/**
+	 * @return number of items filtered out by the processor
+	 */
+	private int write(List<Future<O>> futures) throws Exception {
+		try {
+			Chunk<O> outputs = new Chunk<>();
+			for (Future<O> future : futures) {
+				O output;
+				try {
+					output = future.get();
+				} catch (ExecutionException e) {
+					throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+				}
+				if (output != null) {
+					outputs.add(output);
+				}
+			}
+			if (!outputs.isEmpty()) {
+				flush(outputs);
+			}
+			return futures.size() - outputs.size();
+		} finally {
+			permits.release();
+		}
+	}
+
+	private void flush(Chunk<O> outputs) throws Exception {
+		WriterFlushEvent event = new WriterFlushEvent();
+		event.step = StringUtils.trimTrailingCharacter(threadNamePrefix, '-');
+		event.items = outputs.size();
+		if (event.isEnabled()) {
+			for (O output : outputs) {
+				event.bytes += sizeEstimator.applyAsLong(output);
+			}
+		}
+		event.begin();
+		writer.write(outputs);
+		event.commit();
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public int getWriteThreads() {
+		return writeThreads;
+	}
+
+	public void setWriteThreads(int threads) {
+		this.writeThreads = threads;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public String getThreadNamePrefix() {
+		return threadNamePrefix;
+	}
+
+	public void setThreadNamePrefix(String prefix) {
+		this.threadNamePrefix = prefix;
+	}
+
+}
@@ -10,7 +10,7 @@ public class ProgressArgs {
 	@Option(names = "--progress", description = "Progress style: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).", paramLabel = "<style>")
 	private ProgressStyle style = DEFAULT_STYLE;
 
-	@Option(names = "--progress-interval", description = "Progress update interval in millis (default: ${DEFAULT-VALUE}).", paramLabel = "<ms>", hidden = true)
+	@Option(names = "--progress-interval", description = "Progress update interval in millis (default: ${DEFAULT-VALUE}).", paramLabel = "<ms>")
 	private long updateInterval = DEFAULT_UPDATE_INTERVAL;
 
 	public ProgressStyle getStyle() {
@@ -1,5 +1,10 @@
 package com.redis.riot.core;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.ExitStatus;
@@ -7,14 +12,18 @@ import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.item.Chunk;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import me.tongfei.progressbar.DelegatingProgressBarConsumer;
 import me.tongfei.progressbar.ProgressBar;
 import me.tongfei.progressbar.ProgressBarBuilder;
+import me.tongfei.progressbar.ProgressBarConsumer;
 import me.tongfei.progressbar.ProgressBarStyle;
 
 /**
- * Listener tracking writer or step progress with by a progress bar.
+ * Listener tracking writer or step progress with by a progress bar. Writer
+ * threads only increment a counter: the progress bar and its status message
+ * are updated by a separate thread at the progress update interval.
  * 
  * @author Julien Ruaux
  * @since 3.1.2
@@ -22,11 +31,19 @@ import me.tongfei.progressbar.ProgressBarStyle;
 @SuppressWarnings("rawtypes")
 public class ProgressStepExecutionListener<I, O> implements StepExecutionListener, ItemWriteListener {
 
+	private final Logger log = LoggerFactory.getLogger(getClass());
+
 	private final Step<I, O> step;
 
 	private ProgressArgs progressArgs = new ProgressArgs();
 
-	private ProgressBar progressBar;
+	private ProgressBarConsumer consumer;
+
+	private final LongAdder writeCount = new LongAdder();
+
+	private volatile ProgressBar progressBar;
+
+	private ScheduledExecutorService scheduler;
 
 	public ProgressStepExecutionListener(Step<I, O> step) {
 		this.step = step;
@@ -39,12 +56,40 @@ public class ProgressStepExecutionListener<I, O> implements StepExecutionListene
 		progressBarBuilder.setStyle(progressBarStyle());
 		progressBarBuilder.setUpdateIntervalMillis(Math.toIntExact(progressArgs.getUpdateInterval()));
 		progressBarBuilder.showSpeed();
-		if (progressArgs.getStyle() == ProgressStyle.LOG) {
-			Logger logger = LoggerFactory.getLogger(getClass());
-			progressBarBuilder.setConsumer(new DelegatingProgressBarConsumer(logger::info));
+		if (consumer != null) {
+			progressBarBuilder.setConsumer(consumer);
+		} else if (progressArgs.getStyle() == ProgressStyle.LOG) {
+			progressBarBuilder.setConsumer(new DelegatingProgressBarConsumer(log::info));
 		}
 		progressBarBuilder.setInitialMax(step.maxItemCount());
 		this.progressBar = progressBarBuilder.build();
+		writeCount.reset();
+		scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory());
+		scheduler.scheduleAtFixedRate(this::scheduledUpdate, progressArgs.getUpdateInterval(), progressArgs.getUpdateInterval(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	private CustomizableThreadFactory threadFactory() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(step.getName() + "-progress-");
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	private void scheduledUpdate() {
+		// An exception escaping the task would silently cancel all further updates
+		try {
+			update();
+		} catch (Exception e) {
+			log.warn("Could not update progress of step {}", step.getName(), e);
+		}
+	}
+
+	private void update() {
+		ProgressBar bar = progressBar;
+		if (bar != null) {
+			bar.stepTo(writeCount.sum());
+			bar.setExtraMessage(step.statusMessage());
+		}
 	}
 
 	private ProgressBarStyle progressBarStyle() {
@@ -60,15 +105,22 @@ public class ProgressStepExecutionListener<I, O> implements StepExecutionListene
 
 	@Override
 	public void afterWrite(Chunk items) {
-		if (progressBar != null) {
-			progressBar.stepBy(items.size());
-			progressBar.setExtraMessage(step.statusMessage());
-		}
+		writeCount.add(items.size());
 	}
 
 	@Override
 	public ExitStatus afterStep(StepExecution stepExecution) {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			try {
+				scheduler.awaitTermination(progressArgs.getUpdateInterval(), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			scheduler = null;
+		}
 		if (progressBar != null) {
+			update();
 			if (!stepExecution.getStatus().isUnsuccessful()) {
 				progressBar.stepTo(progressBar.getMax());
 			}
@@ -86,4 +138,16 @@ public class ProgressStepExecutionListener<I, O> implements StepExecutionListene
 		this.progressArgs = args;
 	}
 
+	public ProgressBarConsumer getConsumer() {
+		return consumer;
+	}
+
+	/**
+	 * @param consumer progress bar consumer overriding the one derived from the
+	 *                 progress style
+	 */
+	public void setConsumer(ProgressBarConsumer consumer) {
+		this.consumer = consumer;
+	}
+
 }
@@ -0,0 +1,24 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.redis.riot.QueueWait")
+@Label("Queue Wait")
+@Description("Thread blocked on a full or empty queue between reader, processor and writer threads")
+@Category({ "RIOT", "Queue" })
+@StackTrace(false)
+class QueueWaitEvent extends Event {
+
+	@Label("Queue")
+	String queue;
+
+	@Label("Items")
+	@Description("Number of items or chunks waited for")
+	int items;
+
+}
@@ -0,0 +1,63 @@
+package com.redis.riot.core;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.util.Assert;
+
+public class RateLimitedItemReader<T> implements ItemStreamReader<T> {
+
+	private final ItemReader<T> delegate;
+	private final RateLimiter itemRateLimiter;
+	private final RateLimiter byteRateLimiter;
+	private ToLongFunction<Object> sizeEstimator = new ItemSizeEstimator();
+
+	public RateLimitedItemReader(ItemReader<T> delegate, RateLimiter itemRateLimiter, RateLimiter byteRateLimiter) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(itemRateLimiter != null || byteRateLimiter != null, "No rate limiter specified");
+		this.delegate = delegate;
+		this.itemRateLimiter = itemRateLimiter;
+		this.byteRateLimiter = byteRateLimiter;
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	@Override
+	public T read() throws Exception {
+		if (itemRateLimiter != null) {
+			itemRateLimiter.acquire(1);
+		}
+		T item = delegate.read();
+		if (item != null && byteRateLimiter != null) {
+			byteRateLimiter.acquire(sizeEstimator.applyAsLong(item));
+		}
+		return item;
+	}
+
+	public void setSizeEstimator(ToLongFunction<Object> estimator) {
+		this.sizeEstimator = estimator;
+	}
+
+}
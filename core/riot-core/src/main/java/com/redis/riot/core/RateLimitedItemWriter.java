@@ -0,0 +1,67 @@
+package com.redis.riot.core;
+
+import java.util.function.ToLongFunction;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.util.Assert;
+
+public class RateLimitedItemWriter<T> implements ItemStreamWriter<T> {
+
+	private final ItemWriter<T> delegate;
+	private final RateLimiter itemRateLimiter;
+	private final RateLimiter byteRateLimiter;
+	private ToLongFunction<Object> sizeEstimator = new ItemSizeEstimator();
+
+	public RateLimitedItemWriter(ItemWriter<T> delegate, RateLimiter itemRateLimiter, RateLimiter byteRateLimiter) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(itemRateLimiter != null || byteRateLimiter != null, "No rate limiter specified");
+		this.delegate = delegate;
+		this.itemRateLimiter = itemRateLimiter;
+		this.byteRateLimiter = byteRateLimiter;
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends T> items) throws Exception {
+		if (itemRateLimiter != null) {
+			itemRateLimiter.acquire(items.size());
+		}
+		if (byteRateLimiter != null) {
+			long bytes = 0;
+			for (T item : items) {
+				bytes += sizeEstimator.applyAsLong(item);
+			}
+			byteRateLimiter.acquire(bytes);
+		}
+		delegate.write(items);
+	}
+
+	public void setSizeEstimator(ToLongFunction<Object> estimator) {
+		this.sizeEstimator = estimator;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free token bucket shared by any number of threads. Tokens accrue at a
+ * fixed rate up to a burst capacity, and callers acquiring more tokens than are
+ * available wait until the bucket has refilled.
+ * <p>
+ * The bucket is tracked as a single virtual time (the time at which all
+ * reserved tokens are paid for) which is advanced with compare-and-set.
+ */
+public class RateLimiter {
+
+	public static final Duration DEFAULT_BURST = Duration.ofSeconds(1);
+
+	private final double nanosPerToken;
+	private final long burstNanos;
+	private final LongSupplier clock;
+	private final AtomicLong virtualTime;
+
+	/**
+	 * @param rate  number of tokens per second
+	 * @param burst duration of tokens that can accumulate while idle, e.g. one
+	 *              second allows a burst of {@code rate} tokens
+	 * @param clock source of the current time in nanoseconds
+	 */
+	public RateLimiter(double rate, Duration burst, LongSupplier clock) {
+		Assert.isTrue(rate > 0, "Rate must be strictly positive");
+		Assert.isTrue(!burst.isNegative(), "Burst must not be negative");
+		this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / rate;
+		this.burstNanos = burst.toNanos();
+		this.clock = clock;
+		this.virtualTime = new AtomicLong(clock.getAsLong() - burstNanos);
+	}
+
+	public RateLimiter(double rate, Duration burst) {
+		this(rate, burst, System::nanoTime);
+	}
+
+	public RateLimiter(double rate) {
+		this(rate, DEFAULT_BURST);
+	}
+
+	public void acquire(long tokens) throws InterruptedException {
+		long wait = reserve(tokens);
+		if (wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+	/**
+	 * Reserves tokens without waiting for them.
+	 * 
+	 * @return the number of nanoseconds to wait until the reserved tokens are
+	 *         available, zero or negative if they are available now
+	 */
+	public long reserve(long tokens) {
+		if (tokens <= 0) {
+			return 0;
+		}
+		long cost = Math.round(tokens * nanosPerToken);
+		long now = clock.getAsLong();
+		long current;
+		long next;
+		do {
+			current = virtualTime.get();
+			next = Math.max(current, now - burstNanos) + cost;
+		} while (!virtualTime.compareAndSet(current, next));
+		return next - now;
+	}
+
+}
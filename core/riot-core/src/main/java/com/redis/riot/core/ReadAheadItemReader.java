@@ -0,0 +1,187 @@
+package com.redis.riot.core;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.util.Assert;
+
+/**
+ * Thread-safe reader for multi-threaded steps: a single thread reads items from
+ * the delegate into a bounded queue that worker threads drain, so workers never
+ * contend on the delegate. Unlike a synchronized reader, deserialization (e.g.
+ * CSV or JSON parsing) also happens outside of worker threads.
+ * <p>
+ * Exceptions thrown by the delegate are queued in order with the items and
+ * rethrown once by the worker that dequeues them, after which reading goes on
+ * with the next item, as it would with a skippable exception in a
+ * single-threaded step.
+ */
+public class ReadAheadItemReader<T> implements ItemStreamReader<T> {
+
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	private static final long POLL_MILLIS = 100;
+	private static final Object END = new Object();
+
+	private final ItemReader<T> delegate;
+
+	private int capacity = DEFAULT_CAPACITY;
+	private String threadName = "read-ahead";
+
+	private BlockingQueue<Object> queue;
+	private volatile Thread thread;
+	private volatile boolean done;
+
+	public ReadAheadItemReader(ItemReader<T> delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).update(executionContext);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (thread != null) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ItemStreamException("Interrupted while stopping reader thread", e);
+			}
+			thread = null;
+		}
+		if (queue != null) {
+			queue.clear();
+		}
+		if (delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	private synchronized void start() {
+		if (thread == null) {
+			done = false;
+			queue = new ArrayBlockingQueue<>(capacity);
+			thread = new Thread(this::fill, threadName);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private void fill() {
+		try {
+			while (true) {
+				Object element;
+				try {
+					element = delegate.read();
+				} catch (InterruptedException e) {
+					throw e;
+				} catch (Exception e) {
+					element = new Failure(e);
+				}
+				if (element == null) {
+					return;
+				}
+				put(element);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			done = true;
+			queue.offer(END);
+		}
+	}
+
+	private void put(Object element) throws InterruptedException {
+		if (queue.offer(element)) {
+			return;
+		}
+		QueueWaitEvent event = waitEvent();
+		queue.put(element);
+		event.commit();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T read() throws Exception {
+		if (thread == null) {
+			start();
+		}
+		BlockingQueue<Object> elements = queue;
+		Object element = elements.poll();
+		if (element == null) {
+			QueueWaitEvent event = waitEvent();
+			while ((element = elements.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+				if (done && elements.isEmpty()) {
+					return null;
+				}
+			}
+			if (event.shouldCommit()) {
+				event.commit();
+			}
+		}
+		if (element == END) {
+			// Leave the end marker for other workers
+			elements.offer(END);
+			return null;
+		}
+		if (element instanceof Failure) {
+			throw ((Failure) element).exception;
+		}
+		return (T) element;
+	}
+
+	private static class Failure {
+
+		private final Exception exception;
+
+		public Failure(Exception exception) {
+			this.exception = exception;
+		}
+
+	}
+
+	private QueueWaitEvent waitEvent() {
+		QueueWaitEvent event = new QueueWaitEvent();
+		event.queue = threadName;
+		event.items = 1;
+		event.begin();
+		return event;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public String getThreadName() {
+		return threadName;
+	}
+
+	public void setThreadName(String name) {
+		this.threadName = name;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * Field names of {@link IndexedRecord} instances, mapping each field to its
+ * slot in the records' value arrays. A schema is immutable and shared by all the
+ * records of a source.
+ */
+public class RecordSchema {
+
+	private final String[] fields;
+	private final Map<String, Integer> indexes;
+
+	public RecordSchema(String... fields) {
+		this(Arrays.asList(fields), false);
+	}
+
+	/**
+	 * @param fields          field names. Duplicate names share the slot of their
+	 *                        first occurrence.
+	 * @param caseInsensitive whether fields are looked up regardless of case, like
+	 *                        JDBC column names
+	 */
+	public RecordSchema(List<String> fields, boolean caseInsensitive) {
+		this.indexes = caseInsensitive ? new LinkedCaseInsensitiveMap<>(fields.size()) : new HashMap<>();
+		List<String> uniqueFields = new ArrayList<>(fields.size());
+		for (String field : fields) {
+			if (!indexes.containsKey(field)) {
+				indexes.put(field, uniqueFields.size());
+				uniqueFields.add(field);
+			}
+		}
+		this.fields = uniqueFields.toArray(new String[0]);
+	}
+
+	/**
+	 * @return slot of the given field or -1 if the field is not part of this schema
+	 */
+	public int indexOf(Object field) {
+		Integer index = indexes.get(field);
+		return index == null ? -1 : index;
+	}
+
+	public String getField(int index) {
+		return fields[index];
+	}
+
+	public int size() {
+		return fields.length;
+	}
+
+	/**
+	 * @return slots of the given fields, which must be part of this schema
+	 */
+	public int[] indexesOf(String[] names) {
+		int[] slots = new int[names.length];
+		for (int index = 0; index < names.length; index++) {
+			slots[index] = indexOf(names[index]);
+		}
+		return slots;
+	}
+
+	public IndexedRecord newRecord() {
+		return new IndexedRecord(this);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(fields);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.redis.riot.core;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.util.Assert;
+
+/**
+ * Writer shared by concurrent steps, e.g. to use a single Redis connection pool.
+ * The delegate is opened by the first step and closed by the last one.
+ */
+public class SharedItemStreamWriter<T> implements ItemStreamWriter<T> {
+
+	private final ItemWriter<T> delegate;
+
+	private int openCount;
+
+	public SharedItemStreamWriter(ItemWriter<T> delegate) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public synchronized void open(ExecutionContext executionContext) {
+		if (openCount == 0 && delegate instanceof ItemStream) {
+			((ItemStream) delegate).open(executionContext);
+		}
+		openCount++;
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		// Delegate state is shared between steps
+	}
+
+	@Override
+	public synchronized void close() {
+		if (openCount == 0) {
+			return;
+		}
+		openCount--;
+		if (openCount == 0 && delegate instanceof ItemStream) {
+			((ItemStream) delegate).close();
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends T> items) throws Exception {
+		delegate.write(items);
+	}
+
+}
@@ -1,9 +1,13 @@
 package com.redis.riot.core;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -39,6 +43,9 @@ public class Step<I, O> {
 	private Collection<Class<? extends Throwable>> noSkip = new HashSet<>();
 	private Collection<Class<? extends Throwable>> retry = new HashSet<>();
 	private Collection<Class<? extends Throwable>> noRetry = new HashSet<>();
+	private List<Step<I, O>> partitions = new ArrayList<>();
+	private int partitionConcurrency;
+	private Map<String, Supplier<Number>> gauges = new LinkedHashMap<>();
 
 	public Step(String name, ItemReader<I> reader, ItemWriter<O> writer) {
 		this.name = name;
@@ -196,11 +203,53 @@ public class Step<I, O> {
 		return skip;
 	}
 
+	public List<Step<I, O>> getPartitions() {
+		return partitions;
+	}
+
+	/**
+	 * Adds a partition to this step. A partitioned step does not use its own reader
+	 * and writer: each partition is executed as a separate worker step while
+	 * execution listeners and progress apply to the step as a whole.
+	 * 
+	 * @param partition worker step for the partition
+	 * @return this step
+	 */
+	public Step<I, O> partition(Step<I, O> partition) {
+		partitions.add(partition);
+		return this;
+	}
+
+	public int getPartitionConcurrency() {
+		return partitionConcurrency;
+	}
+
+	public Step<I, O> partitionConcurrency(int concurrency) {
+		this.partitionConcurrency = concurrency;
+		return this;
+	}
+
+	public Map<String, Supplier<Number>> getGauges() {
+		return gauges;
+	}
+
+	/**
+	 * Adds a gauge to the metrics of this step, e.g. the size of a reader queue.
+	 * 
+	 * @param name  metric name
+	 * @param value supplier of the gauge value
+	 * @return this step
+	 */
+	public Step<I, O> gauge(String name, Supplier<Number> value) {
+		gauges.put(name, value);
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return "Step [name=" + name + ", taskName=" + taskName + ", live=" + live + ", flushInterval=" + flushInterval
 				+ ", idleTimeout=" + idleTimeout + ", skip=" + skip + ", noSkip=" + noSkip + ", retry=" + retry
-				+ ", noRetry=" + noRetry + "]";
+				+ ", noRetry=" + noRetry + ", partitions=" + partitions.size() + "]";
 	}
 
 }
@@ -1,6 +1,9 @@
 package com.redis.riot.core;
 
+import java.io.File;
+
 import org.springframework.retry.policy.MaxAttemptsRetryPolicy;
+import org.springframework.util.unit.DataSize;
 
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Option;
@@ -8,20 +11,60 @@ import picocli.CommandLine.Option;
 public class StepArgs {
 
 	public static final int DEFAULT_CHUNK_SIZE = 50;
+	public static final int AUTO_CHUNK_SIZE = -1;
+	public static final int DEFAULT_MIN_CHUNK_SIZE = AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE;
+	public static final int DEFAULT_MAX_CHUNK_SIZE = AdaptiveCompletionPolicy.DEFAULT_MAX_CHUNK_SIZE;
+	public static final long DEFAULT_TARGET_LATENCY = AdaptiveCompletionPolicy.DEFAULT_TARGET_LATENCY.toMillis();
 	public static final int DEFAULT_THREADS = 1;
+	public static final ExecutorType DEFAULT_EXECUTOR_TYPE = ExecutorType.POOL;
+	public static final RateLimitMode DEFAULT_RATE_LIMIT_MODE = RateLimitMode.WRITE;
 	public static final RetryPolicy DEFAULT_RETRY_POLICY = RetryPolicy.NEVER;
 	public static final SkipPolicy DEFAULT_SKIP_POLICY = SkipPolicy.NEVER;
+	public static final RecoveryMode DEFAULT_RECOVERY_MODE = RecoveryMode.SCAN;
+	public static final TuneMode DEFAULT_TUNE_MODE = TuneMode.NONE;
 	public static final int DEFAULT_RETRY_LIMIT = MaxAttemptsRetryPolicy.DEFAULT_MAX_ATTEMPTS;
+	public static final String OPTION_THREADS = "--threads";
+	public static final String OPTION_BATCH = "--batch";
+	public static final String OPTION_BATCH_MIN = "--batch-min";
+	public static final String OPTION_BATCH_MAX = "--batch-max";
+	public static final String OPTION_BATCH_LATENCY = "--batch-latency";
 
-	@Option(names = "--sleep", description = "Duration in millis to wait after each batch write (default: no sleep).", paramLabel = "<ms>")
+	@Option(names = "--sleep", description = "Duration in millis to wait after each batch write (default: no sleep). Deprecated: use --rate instead.", paramLabel = "<ms>", hidden = true)
 	private long sleep;
 
-	@Option(names = "--threads", description = "Number of concurrent threads to use for batch processing (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
+	@Option(names = "--rate", description = "Max number of items per second (default: no limit).", paramLabel = "<int>")
+	private long rate;
+
+	@Option(names = "--byte-rate", description = "Max number of bytes per second, e.g. 10MB (default: no limit).", paramLabel = "<size>")
+	private DataSize byteRate;
+
+	@Option(names = "--rate-mode", description = "Where to apply rate limits: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).", paramLabel = "<mode>")
+	private RateLimitMode rateLimitMode = DEFAULT_RATE_LIMIT_MODE;
+
+	@Option(names = "--tune", description = "Tuning of threads, pool sizes and batch sizes: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). Auto derives options not given on the command line from cores, Redis round-trip time and value sizes when the job starts. Only the batch size keeps adapting to write latency while the job runs (additive increase, multiplicative decrease); threads and pool sizes stay fixed.", paramLabel = "<mode>")
+	private TuneMode tuneMode = DEFAULT_TUNE_MODE;
+
+	@Option(names = OPTION_THREADS, description = "Number of concurrent threads to use for batch processing (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
 	private int threads = DEFAULT_THREADS;
 
-	@Option(names = "--batch", description = "Number of items in each batch (default: ${DEFAULT-VALUE}).", paramLabel = "<size>")
+	@Option(names = "--executor", description = "Thread type for concurrent batch processing: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). Virtual threads require Java 21+.", paramLabel = "<type>")
+	private ExecutorType executorType = DEFAULT_EXECUTOR_TYPE;
+
+	@Option(names = "--proc-threads", description = "Number of threads processing the items of each batch in parallel while the previous batch is being written (default: no pipeline).", paramLabel = "<int>")
+	private int processorThreads;
+
+	@Option(names = OPTION_BATCH, description = "Number of items in each batch, or 'auto' to adapt it to write latency (default: ${DEFAULT-VALUE}).", paramLabel = "<size>", converter = ChunkSizeConverter.class)
 	private int chunkSize = DEFAULT_CHUNK_SIZE;
 
+	@Option(names = OPTION_BATCH_MIN, description = "Min number of items in each batch with '--batch auto' (default: ${DEFAULT-VALUE}).", paramLabel = "<size>")
+	private int minChunkSize = DEFAULT_MIN_CHUNK_SIZE;
+
+	@Option(names = OPTION_BATCH_MAX, description = "Max number of items in each batch with '--batch auto' (default: ${DEFAULT-VALUE}).", paramLabel = "<size>")
+	private int maxChunkSize = DEFAULT_MAX_CHUNK_SIZE;
+
+	@Option(names = OPTION_BATCH_LATENCY, description = "Target batch write latency in millis with '--batch auto' (default: ${DEFAULT-VALUE}).", paramLabel = "<ms>")
+	private long targetLatency = DEFAULT_TARGET_LATENCY;
+
 	@Option(names = "--dry-run", description = "Enable dummy writes.")
 	private boolean dryRun;
 
@@ -31,15 +74,24 @@ public class StepArgs {
 	@Option(names = "--skip-limit", description = "Number of skips tolerated before failing. Use with limit skip policy.", paramLabel = "<int>")
 	private int skipLimit;
 
+	@Option(names = "--recovery", description = "How to find items to skip in a failed batch write: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). Bisect splits the batch in halves instead of writing items one by one, writing good items of the batch several times.", paramLabel = "<mode>")
+	private RecoveryMode recoveryMode = DEFAULT_RECOVERY_MODE;
+
 	@Option(names = "--retry", description = "Retry policy: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).", paramLabel = "<name>")
 	private RetryPolicy retryPolicy = DEFAULT_RETRY_POLICY;
 
 	@Option(names = "--retry-limit", description = "Number of times to try failed items (default: ${DEFAULT-VALUE}). 0 and 1 both mean no retry. Use with limit retry policy", paramLabel = "<int>")
 	private int retryLimit = DEFAULT_RETRY_LIMIT;
 
+	@Option(names = "--checkpoint", description = "File to save job state to after each batch so that a failed job can be resumed by running it again.", paramLabel = "<file>")
+	private File checkpoint;
+
 	@ArgGroup(exclusive = false)
 	private ProgressArgs progressArgs = new ProgressArgs();
 
+	@ArgGroup(exclusive = false)
+	private MetricsArgs metricsArgs = new MetricsArgs();
+
 	public long getSleep() {
 		return sleep;
 	}
@@ -48,6 +100,38 @@ public class StepArgs {
 		this.sleep = sleep;
 	}
 
+	public long getRate() {
+		return rate;
+	}
+
+	public void setRate(long rate) {
+		this.rate = rate;
+	}
+
+	public DataSize getByteRate() {
+		return byteRate;
+	}
+
+	public void setByteRate(DataSize byteRate) {
+		this.byteRate = byteRate;
+	}
+
+	public RateLimitMode getRateLimitMode() {
+		return rateLimitMode;
+	}
+
+	public void setRateLimitMode(RateLimitMode mode) {
+		this.rateLimitMode = mode;
+	}
+
+	public TuneMode getTuneMode() {
+		return tuneMode;
+	}
+
+	public void setTuneMode(TuneMode mode) {
+		this.tuneMode = mode;
+	}
+
 	public int getThreads() {
 		return threads;
 	}
@@ -56,6 +140,22 @@ public class StepArgs {
 		this.threads = threads;
 	}
 
+	public ExecutorType getExecutorType() {
+		return executorType;
+	}
+
+	public void setExecutorType(ExecutorType type) {
+		this.executorType = type;
+	}
+
+	public int getProcessorThreads() {
+		return processorThreads;
+	}
+
+	public void setProcessorThreads(int threads) {
+		this.processorThreads = threads;
+	}
+
 	public int getChunkSize() {
 		return chunkSize;
 	}
@@ -64,6 +164,34 @@ public class StepArgs {
 		this.chunkSize = chunkSize;
 	}
 
+	public boolean isAutoChunkSize() {
+		return chunkSize == AUTO_CHUNK_SIZE;
+	}
+
+	public int getMinChunkSize() {
+		return minChunkSize;
+	}
+
+	public void setMinChunkSize(int size) {
+		this.minChunkSize = size;
+	}
+
+	public int getMaxChunkSize() {
+		return maxChunkSize;
+	}
+
+	public void setMaxChunkSize(int size) {
+		this.maxChunkSize = size;
+	}
+
+	public long getTargetLatency() {
+		return targetLatency;
+	}
+
+	public void setTargetLatency(long latency) {
+		this.targetLatency = latency;
+	}
+
 	public boolean isDryRun() {
 		return dryRun;
 	}
@@ -72,6 +200,14 @@ public class StepArgs {
 		this.dryRun = dryRun;
 	}
 
+	public File getCheckpoint() {
+		return checkpoint;
+	}
+
+	public void setCheckpoint(File file) {
+		this.checkpoint = file;
+	}
+
 	public ProgressArgs getProgressArgs() {
 		return progressArgs;
 	}
@@ -80,6 +216,14 @@ public class StepArgs {
 		this.progressArgs = args;
 	}
 
+	public MetricsArgs getMetricsArgs() {
+		return metricsArgs;
+	}
+
+	public void setMetricsArgs(MetricsArgs args) {
+		this.metricsArgs = args;
+	}
+
 	public int getSkipLimit() {
 		return skipLimit;
 	}
@@ -88,6 +232,14 @@ public class StepArgs {
 		this.skipLimit = skipLimit;
 	}
 
+	public RecoveryMode getRecoveryMode() {
+		return recoveryMode;
+	}
+
+	public void setRecoveryMode(RecoveryMode mode) {
+		this.recoveryMode = mode;
+	}
+
 	public int getRetryLimit() {
 		return retryLimit;
 	}
@@ -114,9 +266,13 @@ public class StepArgs {
 
 	@Override
 	public String toString() {
-		return "StepArgs [sleep=" + sleep + ", threads=" + threads + ", chunkSize=" + chunkSize + ", dryRun=" + dryRun
-				+ ", skipPolicy=" + skipPolicy + ", skipLimit=" + skipLimit + ", retryPolicy=" + retryPolicy
-				+ ", retryLimit=" + retryLimit + ", progressArgs=" + progressArgs + "]";
+		return "StepArgs [sleep=" + sleep + ", rate=" + rate + ", byteRate=" + byteRate + ", rateLimitMode="
+				+ rateLimitMode + ", tuneMode=" + tuneMode + ", threads=" + threads + ", executorType=" + executorType
+				+ ", processorThreads=" + processorThreads + ", chunkSize=" + chunkSize + ", minChunkSize="
+				+ minChunkSize + ", maxChunkSize=" + maxChunkSize + ", targetLatency=" + targetLatency + ", dryRun="
+				+ dryRun + ", skipPolicy=" + skipPolicy + ", skipLimit=" + skipLimit + ", recoveryMode=" + recoveryMode
+				+ ", retryPolicy=" + retryPolicy + ", retryLimit=" + retryLimit + ", checkpoint=" + checkpoint
+				+ ", progressArgs=" + progressArgs + ", metricsArgs=" + metricsArgs + "]";
 	}
 
 }
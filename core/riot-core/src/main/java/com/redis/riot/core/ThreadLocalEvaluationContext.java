@@ -0,0 +1,43 @@
+package com.redis.riot.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
+
+/**
+ * Evaluation context shared by all processing threads. Variables are shared
+ * unless registered with {@link #setThreadLocalVariable(String, Supplier)}, in
+ * which case each thread looks up its own value, created on first use by the
+ * given supplier. This confines non thread-safe variables to a thread without
+ * building a whole context per thread.
+ */
+public class ThreadLocalEvaluationContext extends StandardEvaluationContext {
+
+	private final Map<String, ThreadLocal<?>> threadLocalVariables = new ConcurrentHashMap<>();
+
+	public ThreadLocalEvaluationContext() {
+		// Resolver lists are lazily initialized: create them upfront so that
+		// concurrent evaluations do not race on their initialization
+		getPropertyAccessors();
+		getConstructorResolvers();
+		getMethodResolvers();
+	}
+
+	public void setThreadLocalVariable(String name, Supplier<?> supplier) {
+		threadLocalVariables.put(name, ThreadLocal.withInitial(supplier));
+	}
+
+	@Override
+	@Nullable
+	public Object lookupVariable(String name) {
+		ThreadLocal<?> variable = threadLocalVariables.get(name);
+		if (variable == null) {
+			return super.lookupVariable(name);
+		}
+		return variable.get();
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.redis.riot.core;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.redis.riot.WriterFlush")
+@Label("Writer Flush")
+@Description("Chunk flushed to the target by a pipeline writer thread")
+class WriterFlushEvent extends AbstractChunkEvent {
+
+}
@@ -0,0 +1,58 @@
+package com.redis.riot.core.processor;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.redis.riot.core.IndexedRecord;
+import com.redis.riot.core.RecordSchema;
+
+/**
+ * Extracts a field from records. The slot of the field in
+ * {@link IndexedRecord} instances is resolved once per schema so that those
+ * records are read by index instead of by field name.
+ */
+class FieldExtractor implements Function<Map<String, Object>, Object> {
+
+	private final String field;
+	private final boolean remove;
+	private volatile Slot slot;
+
+	public FieldExtractor(String field, boolean remove) {
+		this.field = field;
+		this.remove = remove;
+	}
+
+	@Override
+	public Object apply(Map<String, Object> source) {
+		if (source instanceof IndexedRecord) {
+			IndexedRecord record = (IndexedRecord) source;
+			int index = index(record.getSchema());
+			if (index >= 0) {
+				return remove ? record.remove(index) : record.get(index);
+			}
+		}
+		return remove ? source.remove(field) : source.get(field);
+	}
+
+	private int index(RecordSchema schema) {
+		Slot current = slot;
+		if (current == null || current.schema != schema) {
+			current = new Slot(schema, schema.indexOf(field));
+			slot = current;
+		}
+		return current.index;
+	}
+
+	private static class Slot {
+
+		private final RecordSchema schema;
+		private final int index;
+
+		public Slot(RecordSchema schema, int index) {
+			this.schema = schema;
+			this.index = index;
+		}
+
+	}
+
+}
@@ -20,7 +20,7 @@ public class FieldExtractorFactory {
 	}
 
 	public Function<Map<String, Object>, Object> field(String field) {
-		Function<Map<String, Object>, Object> extractor = extractor(field);
+		Function<Map<String, Object>, Object> extractor = new FieldExtractor(field, remove);
 		if (nullCheck) {
 			return new NullCheckExtractor(field, extractor);
 		}
@@ -43,13 +43,13 @@ public class FieldExtractorFactory {
 	}
 
 	public ToLongFunction<Map<String, Object>> longField(String field) {
-		Function<Map<String, Object>, Object> extractor = extractor(field);
+		Function<Map<String, Object>, Object> extractor = new FieldExtractor(field, remove);
 		ObjectToLongFunction function = new ObjectToLongFunction();
 		return m -> function.applyAsLong(extractor.apply(m));
 	}
 
 	public ToDoubleFunction<Map<String, Object>> doubleField(String field, double defaultValue) {
-		Function<Map<String, Object>, Object> extractor = extractor(field);
+		Function<Map<String, Object>, Object> extractor = new FieldExtractor(field, remove);
 		ObjectToDoubleFunction function = new ObjectToDoubleFunction(defaultValue);
 		return m -> function.applyAsDouble(extractor.apply(m));
 	}
@@ -16,12 +16,12 @@ public class IdFunctionBuilder {
 
     private String prefix;
 
-    private final FieldExtractorFactory extractorFactory = FieldExtractorFactory.builder().nullCheck(true).build();
+    private boolean remove;
 
     private final List<String> fields = new ArrayList<>();
 
     public IdFunctionBuilder remove(boolean remove) {
-        this.extractorFactory.setRemove(remove);
+        this.remove = remove;
         return this;
     }
 
@@ -47,54 +47,7 @@ public class IdFunctionBuilder {
     }
 
     public Function<Map<String, Object>, String> build() {
-        if (fields.isEmpty()) {
-            if (prefix != null) {
-                return m -> prefix;
-            }
-            throw new IllegalArgumentException("No prefix and no fields specified");
-        }
-        if (fields.size() == 1) {
-            Function<Map<String, Object>, String> extractor = extractorFactory.string(fields.get(0));
-            if (prefix != null) {
-                return s -> prefix + separator + extractor.apply(s);
-            }
-            return extractor::apply;
-        }
-        List<Function<Map<String, Object>, String>> toStringFunctions = new ArrayList<>();
-        if (prefix != null) {
-            toStringFunctions.add(s -> prefix);
-        }
-        for (String field : fields) {
-            toStringFunctions.add(extractorFactory.string(field));
-        }
-        return new ConcatenatingFunction(separator, toStringFunctions);
-    }
-
-    public static class ConcatenatingFunction implements Function<Map<String, Object>, String> {
-
-        private final String separator;
-
-        private final List<Function<Map<String, Object>, String>> toStringFunctions;
-
-        public ConcatenatingFunction(String separator, List<Function<Map<String, Object>, String>> toStringFunctions) {
-            this.separator = separator;
-            this.toStringFunctions = toStringFunctions;
-        }
-
-        @Override
-        public String apply(Map<String, Object> source) {
-            if (source == null) {
-                return null;
-            }
-            StringBuilder builder = new StringBuilder();
-            builder.append(toStringFunctions.get(0).apply(source));
-            for (int index = 1; index < toStringFunctions.size(); index++) {
-                builder.append(separator);
-                builder.append(toStringFunctions.get(index).apply(source));
-            }
-            return builder.toString();
-        }
-
+        return new KeyTemplate(prefix, separator, fields.toArray(new String[0]), remove);
     }
 
 }
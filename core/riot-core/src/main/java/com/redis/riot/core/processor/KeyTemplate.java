@@ -0,0 +1,109 @@
+package com.redis.riot.core.processor;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.redis.riot.core.processor.FieldExtractorFactory.MissingFieldException;
+
+/**
+ * Builds keys from an optional prefix and the values of record fields, joined
+ * by a separator. The constant part of the template is precomputed and keys are
+ * built in a buffer reused by each thread: numeric values are appended without
+ * being converted to strings first, and a single-field key with no prefix is the
+ * field value itself when it is a string. Building a key thus allocates nothing
+ * but the key.
+ */
+public class KeyTemplate implements Function<Map<String, Object>, String> {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int MAX_CAPACITY = 1024;
+
+	private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal
+			.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+	private final String head;
+	private final String separator;
+	private final String[] fields;
+	private final FieldExtractor[] extractors;
+
+	/**
+	 * @param prefix    key prefix, or null for keys made of field values only
+	 * @param separator separator between prefix and field values
+	 * @param fields    names of the fields whose values make up the key
+	 * @param remove    whether to remove key fields from records
+	 */
+	public KeyTemplate(String prefix, String separator, String[] fields, boolean remove) {
+		if (prefix == null && fields.length == 0) {
+			throw new IllegalArgumentException("No prefix and no fields specified");
+		}
+		this.head = prefix == null ? "" : (fields.length == 0 ? prefix : prefix + separator);
+		this.separator = separator;
+		this.fields = fields.clone();
+		this.extractors = new FieldExtractor[fields.length];
+		for (int index = 0; index < fields.length; index++) {
+			extractors[index] = new FieldExtractor(fields[index], remove);
+		}
+	}
+
+	@Override
+	public String apply(Map<String, Object> source) {
+		if (source == null) {
+			return null;
+		}
+		if (fields.length == 0) {
+			return head;
+		}
+		if (fields.length == 1 && head.isEmpty()) {
+			Object value = value(source, 0);
+			return value instanceof String ? (String) value : value.toString();
+		}
+		StringBuilder buffer = buffer();
+		buffer.append(head);
+		for (int index = 0; index < fields.length; index++) {
+			if (index > 0) {
+				buffer.append(separator);
+			}
+			append(buffer, value(source, index));
+		}
+		return buffer.toString();
+	}
+
+	private StringBuilder buffer() {
+		StringBuilder buffer = BUFFERS.get();
+		if (buffer.capacity() > MAX_CAPACITY) {
+			// Do not hold on to buffers grown by unusually long keys
+			buffer = new StringBuilder(INITIAL_CAPACITY);
+			BUFFERS.set(buffer);
+		}
+		buffer.setLength(0);
+		return buffer;
+	}
+
+	private Object value(Map<String, Object> source, int index) {
+		Object value = extractors[index].apply(source);
+		if (value == null) {
+			throw new MissingFieldException("Error: Missing required field: '" + fields[index] + "'");
+		}
+		return value;
+	}
+
+	private static void append(StringBuilder buffer, Object value) {
+		if (value instanceof String) {
+			buffer.append((String) value);
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short
+				|| value instanceof Byte) {
+			buffer.append(((Number) value).longValue());
+		} else if (value instanceof Double) {
+			buffer.append(((Double) value).doubleValue());
+		} else if (value instanceof Float) {
+			buffer.append(((Float) value).floatValue());
+		} else if (value instanceof Character) {
+			buffer.append(((Character) value).charValue());
+		} else if (value instanceof CharSequence) {
+			buffer.append((CharSequence) value);
+		} else {
+			buffer.append(value);
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+class AdaptiveCompletionPolicyTests {
+
+	private static final int MIN = 10;
+	private static final int MAX = 50;
+	private static final Duration TARGET_LATENCY = Duration.ofMillis(100);
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+	private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private AdaptiveCompletionPolicy<Integer> policy() {
+		AdaptiveCompletionPolicy<Integer> policy = new AdaptiveCompletionPolicy<>("test", MIN, MAX, TARGET_LATENCY);
+		policy.setClock(clock::get);
+		return policy;
+	}
+
+	private void write(AdaptiveCompletionPolicy<Integer> policy, long latencyNanos) {
+		Chunk<Integer> chunk = chunk(policy.getChunkSize());
+		policy.beforeWrite(chunk);
+		clock.addAndGet(latencyNanos);
+		policy.afterWrite(chunk);
+	}
+
+	private void fail(AdaptiveCompletionPolicy<Integer> policy) {
+		Chunk<Integer> chunk = chunk(policy.getChunkSize());
+		policy.beforeWrite(chunk);
+		clock.addAndGet(FAST);
+		policy.onWriteError(new IllegalStateException("Simulated failure"), chunk);
+	}
+
+	private static Chunk<Integer> chunk(int size) {
+		List<Integer> items = new ArrayList<>();
+		for (int index = 0; index < size; index++) {
+			items.add(index);
+		}
+		return new Chunk<>(items);
+	}
+
+	@Test
+	void additiveIncrease() {
+		AdaptiveCompletionPolicy<Integer> policy = policy();
+		Assertions.assertEquals(MIN, policy.getChunkSize());
+		write(policy, FAST);
+		Assertions.assertEquals(20, policy.getChunkSize());
+		write(policy, FAST);
+		Assertions.assertEquals(30, policy.getChunkSize());
+	}
+
+	@Test
+	void clampToMax() {
+		AdaptiveCompletionPolicy<Integer> policy = policy();
+		for (int index = 0; index < 10; index++) {
+			write(policy, FAST);
+		}
+		Assertions.assertEquals(MAX, policy.getChunkSize());
+	}
+
+	@Test
+	void multiplicativeDecrease() {
+		AdaptiveCompletionPolicy<Integer> policy = policy();
+		for (int index = 0; index < 4; index++) {
+			write(policy, FAST);
+		}
+		Assertions.assertEquals(MAX, policy.getChunkSize());
+		write(policy, SLOW);
+		Assertions.assertEquals(25, policy.getChunkSize());
+		fail(policy);
+		Assertions.assertEquals(12, policy.getChunkSize());
+	}
+
+	@Test
+	void clampToMin() {
+		AdaptiveCompletionPolicy<Integer> policy = policy();
+		write(policy, FAST);
+		Assertions.assertEquals(20, policy.getChunkSize());
+		fail(policy);
+		fail(policy);
+		Assertions.assertEquals(MIN, policy.getChunkSize());
+		write(policy, SLOW);
+		Assertions.assertEquals(MIN, policy.getChunkSize());
+	}
+
+	@Test
+	void complete() {
+		AdaptiveCompletionPolicy<Integer> policy = policy();
+		write(policy, FAST);
+		RepeatContext context = policy.start(null);
+		for (int index = 0; index < 19; index++) {
+			policy.update(context);
+			Assertions.assertFalse(policy.isComplete(context, RepeatStatus.CONTINUABLE));
+		}
+		policy.update(context);
+		Assertions.assertTrue(policy.isComplete(context, RepeatStatus.CONTINUABLE));
+	}
+
+	@Test
+	void convertBatchSize() {
+		ChunkSizeConverter converter = new ChunkSizeConverter();
+		Assertions.assertEquals(StepArgs.AUTO_CHUNK_SIZE, converter.convert("auto"));
+		Assertions.assertEquals(100, converter.convert("100"));
+		Assertions.assertThrows(RuntimeException.class, () -> converter.convert("0"));
+	}
+
+}
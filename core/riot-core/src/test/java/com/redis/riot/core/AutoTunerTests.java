@@ -0,0 +1,60 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AutoTunerTests {
+
+	@Test
+	void consistentPoolSizes() {
+		AutoTuner tuner = new AutoTuner(8);
+		tuner.setRtt(Duration.ofMillis(1));
+		tuner.tune();
+		Assertions.assertEquals(16, tuner.getThreads());
+		Assertions.assertEquals(tuner.getThreads(), tuner.getPoolSize());
+		Assertions.assertEquals(tuner.getReadThreads(), tuner.getReadPoolSize());
+		Assertions.assertTrue(tuner.getReadQueue() >= tuner.getReadBatch() * tuner.getReadThreads());
+	}
+
+	@Test
+	void slowNetwork() {
+		AutoTuner tuner = new AutoTuner(4);
+		tuner.setRtt(Duration.ofMillis(20));
+		tuner.tune();
+		Assertions.assertEquals(Duration.ofMillis(400), tuner.getTargetLatency());
+	}
+
+	@Test
+	void largeValues() {
+		AutoTuner tuner = new AutoTuner(4);
+		tuner.setValueSize(1024 * 1024);
+		tuner.tune();
+		Assertions.assertEquals(AdaptiveCompletionPolicy.DEFAULT_MIN_CHUNK_SIZE, tuner.getMaxChunkSize());
+		Assertions.assertTrue(tuner.getReadQueue() <= 64);
+	}
+
+	@Test
+	void explicitOptions() {
+		AutoTuner tuner = new AutoTuner(4);
+		tuner.tune();
+		StepArgs args = new StepArgs();
+		args.setThreads(3);
+		tuner.configure(args, StepArgs.OPTION_THREADS::equals);
+		Assertions.assertEquals(3, args.getThreads());
+		Assertions.assertTrue(args.isAutoChunkSize());
+	}
+
+	@Test
+	void explicitDefaultOptions() {
+		AutoTuner tuner = new AutoTuner(4);
+		tuner.tune();
+		StepArgs args = new StepArgs();
+		tuner.configure(args, name -> name.equals(StepArgs.OPTION_THREADS) || name.equals(StepArgs.OPTION_BATCH));
+		Assertions.assertEquals(StepArgs.DEFAULT_THREADS, args.getThreads());
+		Assertions.assertEquals(StepArgs.DEFAULT_CHUNK_SIZE, args.getChunkSize());
+		Assertions.assertEquals(tuner.getMaxChunkSize(), args.getMaxChunkSize());
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.step.skip.AlwaysSkipItemSkipPolicy;
+import org.springframework.batch.core.step.skip.NeverSkipItemSkipPolicy;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+class BisectingItemWriterTests {
+
+	private static final int CHUNK_SIZE = 1024;
+	private static final int BAD_ITEM = 123;
+
+	private final List<Integer> written = new ArrayList<>();
+	private final AtomicInteger writes = new AtomicInteger();
+
+	private final ItemWriter<Integer> failingWriter = chunk -> {
+		writes.incrementAndGet();
+		if (chunk.getItems().contains(BAD_ITEM)) {
+			throw new IllegalArgumentException("Bad item");
+		}
+		written.addAll(chunk.getItems());
+	};
+
+	private static Chunk<Integer> chunk() {
+		return new Chunk<>(IntStream.range(0, CHUNK_SIZE).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	void bisect() throws Exception {
+		List<Integer> skipped = new ArrayList<>();
+		BisectingItemWriter<Integer> writer = new BisectingItemWriter<>(failingWriter, new AlwaysSkipItemSkipPolicy());
+		writer.addSkipListener(new SkipListener<Object, Integer>() {
+
+			@Override
+			public void onSkipInWrite(Integer item, Throwable t) {
+				skipped.add(item);
+			}
+
+		});
+		writer.write(chunk());
+		Assertions.assertEquals(List.of(BAD_ITEM), skipped);
+		Assertions.assertEquals(CHUNK_SIZE - 1, written.size());
+		Assertions.assertFalse(written.contains(BAD_ITEM));
+		// One failed write per level and one successful write of the other half
+		Assertions.assertEquals(1 + 2 * 10, writes.get());
+	}
+
+	@Test
+	void noSkip() {
+		BisectingItemWriter<Integer> writer = new BisectingItemWriter<>(failingWriter, new NeverSkipItemSkipPolicy());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write(chunk()));
+		Assertions.assertEquals(1, writes.get());
+	}
+
+}
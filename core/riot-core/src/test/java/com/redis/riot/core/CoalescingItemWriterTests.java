@@ -0,0 +1,42 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+class CoalescingItemWriterTests {
+
+	@Test
+	void lastWriteWins() throws Exception {
+		List<List<? extends String>> writes = new ArrayList<>();
+		CoalescingItemWriter<String> writer = new CoalescingItemWriter<>(chunk -> writes.add(chunk.getItems()),
+				s -> s.charAt(0), (previous, last) -> last);
+		writer.write(new Chunk<>(Arrays.asList("a1", "b1", "a2", "c1", "b2", "a3")));
+		Assertions.assertEquals(Arrays.asList(Arrays.asList("a3", "b2", "c1")), writes);
+		Assertions.assertEquals(3, writer.getCoalescedCount());
+	}
+
+	@Test
+	void merge() throws Exception {
+		List<List<? extends String>> writes = new ArrayList<>();
+		CoalescingItemWriter<String> writer = new CoalescingItemWriter<>(chunk -> writes.add(chunk.getItems()),
+				s -> s.charAt(0), (previous, last) -> previous + last.substring(1));
+		writer.write(new Chunk<>(Arrays.asList("a1", "b1", "a2")));
+		Assertions.assertEquals(Arrays.asList(Arrays.asList("a12", "b1")), writes);
+	}
+
+	@Test
+	void noDuplicates() throws Exception {
+		List<Chunk<? extends String>> writes = new ArrayList<>();
+		CoalescingItemWriter<String> writer = new CoalescingItemWriter<>(writes::add, s -> s, (previous, last) -> last);
+		Chunk<String> chunk = new Chunk<>(Arrays.asList("a", "b"));
+		writer.write(chunk);
+		Assertions.assertSame(chunk, writes.get(0));
+		Assertions.assertEquals(0, writer.getCoalescedCount());
+	}
+
+}
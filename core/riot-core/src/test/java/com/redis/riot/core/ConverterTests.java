@@ -69,4 +69,28 @@ class ConverterTests {
 		Assertions.assertThrows(MissingFieldException.class, () -> converter.apply(map));
 	}
 
+	@Test
+	void testNumberKeyConverter() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("store", 403);
+		map.put("sku", 39323L);
+		map.put("price", 1.5);
+		Function<Map<String, Object>, String> converter = new IdFunctionBuilder().prefix("inventory")
+				.fields("store", "sku", "price").build();
+		for (int index = 0; index < 3; index++) {
+			Assertions.assertEquals("inventory:403:39323:1.5", converter.apply(map));
+		}
+		Assertions.assertEquals("403", new IdFunctionBuilder().fields("store").build().apply(map));
+	}
+
+	@Test
+	void testRemoveKeyConverter() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("store", "403");
+		map.put("name", "La fin du monde");
+		Assertions.assertEquals("inventory:403",
+				new IdFunctionBuilder().prefix("inventory").fields("store").remove(true).build().apply(map));
+		Assertions.assertFalse(map.containsKey("store"));
+	}
+
 }
@@ -0,0 +1,36 @@
+package com.redis.riot.core;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DeadLetterQueueTests {
+
+	private static final int COUNT = 10;
+
+	@Test
+	void writeFailure() throws Exception {
+		DeadLetterQueue queue = new DeadLetterQueue(new DeadLetterWriter() {
+
+			@Override
+			public void write(List<DeadLetter> deadLetters) throws Exception {
+				throw new IllegalStateException("Simulated failure");
+			}
+
+			@Override
+			public void close() {
+				// nothing to close
+			}
+
+		});
+		queue.start();
+		for (int index = 0; index < COUNT; index++) {
+			queue.offer(new DeadLetter("step", DeadLetter.PROCESS, index, new IllegalArgumentException()));
+		}
+		queue.close();
+		Assertions.assertEquals(0, queue.getCount());
+		Assertions.assertEquals(COUNT, queue.getDropped());
+	}
+
+}
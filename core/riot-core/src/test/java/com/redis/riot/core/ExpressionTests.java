@@ -0,0 +1,57 @@
+package com.redis.riot.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+class ExpressionTests {
+
+	private static final int EVALUATIONS = 1000;
+
+	@AfterEach
+	void resetCompilerMode() {
+		Expression.setCompilerMode(SpelCompilerMode.OFF);
+	}
+
+	private StandardEvaluationContext context() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.addPropertyAccessor(new QuietMapAccessor());
+		return context;
+	}
+
+	@Test
+	void compiledAfterParse() {
+		Expression expression = Expression.parse("field1 + ':' + field2");
+		TemplateExpression template = Expression.parseTemplate("key:#{field1}");
+		Expression.setCompilerMode(SpelCompilerMode.MIXED);
+		StandardEvaluationContext context = context();
+		Map<String, Object> map = new HashMap<>();
+		for (int index = 0; index < EVALUATIONS; index++) {
+			map.put("field1", "a" + index);
+			map.put("field2", index);
+			Assertions.assertEquals("a" + index + ":" + index, expression.getValue(context, map));
+			Assertions.assertEquals("key:a" + index, template.getValue(context, map));
+		}
+	}
+
+	@Test
+	void fallbackToInterpreted() {
+		Expression.setCompilerMode(SpelCompilerMode.MIXED);
+		Expression expression = Expression.parse("field1.length()");
+		StandardEvaluationContext context = context();
+		Map<String, Object> map = new HashMap<>();
+		map.put("field1", "abc");
+		for (int index = 0; index < EVALUATIONS; index++) {
+			Assertions.assertEquals(3, expression.getValue(context, map));
+		}
+		// Compiled code casts field1 to a String
+		map.put("field1", new StringBuilder("abcd"));
+		Assertions.assertEquals(4, expression.getValue(context, map));
+	}
+
+}
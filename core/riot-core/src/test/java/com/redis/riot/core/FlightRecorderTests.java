@@ -0,0 +1,84 @@
+package com.redis.riot.core;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.redis.spring.batch.JobUtils;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderTests {
+
+	private static final int ITEM_COUNT = 100;
+	private static final int CHUNK_SIZE = 10;
+
+	@Test
+	void chunkEvents(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("riot.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("com.redis.riot.ChunkRead");
+			recording.enable("com.redis.riot.ChunkProcess");
+			recording.enable("com.redis.riot.ChunkWrite");
+			recording.start();
+			Assertions.assertEquals(BatchStatus.COMPLETED, run());
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		for (String name : new String[] { "ChunkRead", "ChunkProcess", "ChunkWrite" }) {
+			List<RecordedEvent> chunkEvents = events.stream()
+					.filter(e -> e.getEventType().getName().equals("com.redis.riot." + name))
+					.collect(Collectors.toList());
+			Assertions.assertEquals(ITEM_COUNT / CHUNK_SIZE, chunkEvents.size(), name);
+			Assertions.assertEquals(ITEM_COUNT, chunkEvents.stream().mapToInt(e -> e.getInt("items")).sum(), name);
+			Assertions.assertEquals(ITEM_COUNT * Long.BYTES,
+					chunkEvents.stream().mapToLong(e -> e.getLong("bytes")).sum(), name);
+			Assertions.assertEquals("step", chunkEvents.get(0).getString("step"));
+			Assertions.assertNotNull(chunkEvents.get(0).getThread());
+		}
+	}
+
+	private BatchStatus run() throws Exception {
+		InMemoryJobRepository jobRepository = new InMemoryJobRepository();
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.setTaskExecutor(new SyncTaskExecutor());
+		launcher.afterPropertiesSet();
+		List<Integer> items = IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+		FlightRecorderStepListener<Integer, Integer> listener = new FlightRecorderStepListener<>("step");
+		SimpleStepBuilder<Integer, Integer> step = new StepBuilder("step", jobRepository)
+				.<Integer, Integer>chunk(CHUNK_SIZE, JobUtils.resourcelessTransactionManager());
+		step.reader(new ListItemReader<>(items));
+		step.processor(item -> item);
+		step.writer(chunk -> {
+		});
+		step.listener((ChunkListener) listener);
+		step.listener((ItemReadListener<Integer>) listener);
+		step.listener((ItemProcessListener<Integer, Integer>) listener);
+		step.listener((ItemWriteListener<Integer>) listener);
+		Job job = new JobBuilder("job", jobRepository).start(step.build()).build();
+		return launcher.run(job, new JobParameters()).getStatus();
+	}
+
+}
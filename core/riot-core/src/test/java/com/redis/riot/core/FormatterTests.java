@@ -0,0 +1,77 @@
+package com.redis.riot.core;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FormatterTests {
+
+	private static final int THREADS = 8;
+	private static final int EVALUATIONS = 1000;
+
+	@Test
+	void parseDate() throws Exception {
+		DateFormatter formatter = new DateFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSZ", ZoneOffset.UTC);
+		Date date = formatter.parse("2024-03-01T10:15:30.250+0100");
+		Assertions.assertEquals(1709284530250L, date.getTime());
+		Assertions.assertEquals("2024-03-01T09:15:30.250+0000", formatter.format(date));
+		Assertions.assertEquals("2024-03-01T09:15:30.250+0000", formatter.format(date.getTime()));
+	}
+
+	@Test
+	void parseLocalDate() throws Exception {
+		DateFormatter formatter = new DateFormatter("yyyy-MM-dd", ZoneOffset.UTC);
+		Assertions.assertEquals(1709251200000L, formatter.parse("2024-03-01").getTime());
+	}
+
+	@Test
+	void parseLenientDate() throws Exception {
+		DateFormatter formatter = new DateFormatter("yyyy-MM-dd", ZoneOffset.UTC);
+		Assertions.assertEquals(1709251200000L, formatter.parse("2024-03-01 trailing").getTime());
+	}
+
+	@Test
+	void number() throws Exception {
+		NumberFormatter formatter = new NumberFormatter("#,###.##");
+		Assertions.assertEquals(1234.5, formatter.parse("1,234.5").doubleValue());
+		Assertions.assertEquals("1,234.5", formatter.format(1234.5));
+	}
+
+	@Test
+	void threadLocalContext() throws Exception {
+		ThreadLocalEvaluationContext context = new ThreadLocalEvaluationContext();
+		context.setVariable("date", new DateFormatter("yyyy-MM-dd", ZoneOffset.UTC));
+		context.setThreadLocalVariable("builder", StringBuilder::new);
+		Expression parse = Expression.parse("#date.parse(#root).getTime()");
+		Expression append = Expression.parse("#builder.append('x').length()");
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < THREADS; thread++) {
+				int day = thread + 1;
+				futures.add(executor.submit(() -> {
+					for (int index = 0; index < EVALUATIONS; index++) {
+						Assertions.assertEquals(1709251200000L + (day - 1) * 86400000L,
+								parse.getValue(context, String.format("2024-03-%02d", day)));
+						Assertions.assertEquals(index + 1, append.getValue(context));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assertions.assertEquals(0, ((StringBuilder) context.lookupVariable("builder")).length());
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.redis.riot.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IndexedRecordTests {
+
+	@Test
+	void mapContract() {
+		RecordSchema schema = new RecordSchema("id", "name", "price");
+		IndexedRecord record = schema.newRecord();
+		record.put("id", "1");
+		record.put("price", 1.5);
+		record.put("discount", 0.1);
+		Map<String, Object> expected = new LinkedHashMap<>();
+		expected.put("id", "1");
+		expected.put("price", 1.5);
+		expected.put("discount", 0.1);
+		Assertions.assertEquals(expected, record);
+		Assertions.assertEquals(expected.hashCode(), record.hashCode());
+		Assertions.assertEquals(3, record.size());
+		Assertions.assertFalse(record.containsKey("name"));
+		Assertions.assertNull(record.get("name"));
+		Assertions.assertEquals("1", record.remove("id"));
+		Assertions.assertNull(record.remove("id"));
+		Assertions.assertEquals(Arrays.asList("price", "discount"), Arrays.asList(record.keySet().toArray()));
+	}
+
+	@Test
+	void indexedAccess() {
+		RecordSchema schema = new RecordSchema("id", "name");
+		IndexedRecord record = schema.newRecord();
+		int name = schema.indexOf("name");
+		Assertions.assertNull(record.put(name, "foo"));
+		Assertions.assertEquals("foo", record.get("name"));
+		Assertions.assertEquals("foo", record.put(name, "bar"));
+		Assertions.assertEquals("bar", record.remove(name));
+		Assertions.assertTrue(record.isEmpty());
+		Assertions.assertEquals(-1, schema.indexOf("price"));
+	}
+
+	@Test
+	void nullValues() {
+		IndexedRecord record = new RecordSchema("id").newRecord();
+		record.put("id", null);
+		Assertions.assertTrue(record.containsKey("id"));
+		Assertions.assertEquals(1, record.size());
+	}
+
+	@Test
+	void iteratorRemove() {
+		IndexedRecord record = new RecordSchema("a", "b").newRecord();
+		record.put("a", 1);
+		record.put("b", 2);
+		record.put("c", 3);
+		Iterator<Map.Entry<String, Object>> iterator = record.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Object> entry = iterator.next();
+			if (!entry.getKey().equals("b")) {
+				iterator.remove();
+			}
+		}
+		Assertions.assertEquals(Map.of("b", 2), record);
+	}
+
+	@Test
+	void caseInsensitiveSchema() {
+		RecordSchema schema = new RecordSchema(Arrays.asList("ID", "Name", "id"), true);
+		Assertions.assertEquals(2, schema.size());
+		IndexedRecord record = schema.newRecord();
+		record.put("id", 1);
+		Assertions.assertEquals(1, record.get("Id"));
+		Assertions.assertArrayEquals(new int[] { 0, 1, 0 }, schema.indexesOf(new String[] { "ID", "Name", "id" }));
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.redis.riot.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ItemSizeEstimatorTests {
+
+	@Test
+	void utf8Length() {
+		for (String string : new String[] { "", "ascii", "café", "€100", "emoji 😀", "\ud83d", "\ude00x" }) {
+			Assertions.assertEquals(string.getBytes(StandardCharsets.UTF_8).length,
+					ItemSizeEstimator.utf8Length(string), string);
+		}
+	}
+
+	@Test
+	void map() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("name", "café");
+		map.put("count", 3);
+		Assertions.assertEquals(4 + 5 + 5 + Long.BYTES, new ItemSizeEstimator().applyAsLong(map));
+	}
+
+}
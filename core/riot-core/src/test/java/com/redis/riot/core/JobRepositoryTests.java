@@ -0,0 +1,119 @@
+package com.redis.riot.core;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.redis.spring.batch.JobUtils;
+
+class JobRepositoryTests {
+
+	private static final int ITEM_COUNT = 10000;
+
+	private JobExecution run(JobRepository jobRepository, List<Integer> written) throws Exception {
+		List<Integer> items = IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+		return run(jobRepository, new ListItemReader<>(items), chunk -> written.addAll(chunk.getItems()));
+	}
+
+	private JobExecution run(JobRepository jobRepository, ItemReader<Integer> reader, ItemWriter<Integer> writer)
+			throws Exception {
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.setTaskExecutor(new SyncTaskExecutor());
+		launcher.afterPropertiesSet();
+		Job job = new JobBuilder("job", jobRepository).start(new StepBuilder("step", jobRepository)
+				.<Integer, Integer>chunk(10, JobUtils.resourcelessTransactionManager()).reader(reader).writer(writer)
+				.build()).build();
+		return launcher.run(job, new JobParameters());
+	}
+
+	@Test
+	void inMemoryJob() throws Exception {
+		List<Integer> written = new ArrayList<>();
+		JobExecution execution = run(new InMemoryJobRepository(), written);
+		Assertions.assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+		Assertions.assertEquals(ITEM_COUNT, written.size());
+		StepExecution stepExecution = execution.getStepExecutions().iterator().next();
+		Assertions.assertEquals(ITEM_COUNT, stepExecution.getWriteCount());
+		Assertions.assertNotNull(stepExecution.getId());
+	}
+
+	@Test
+	void inMemoryJobRestart() throws Exception {
+		InMemoryJobRepository jobRepository = new InMemoryJobRepository();
+		JobExecution first = run(jobRepository, new ArrayList<>());
+		JobExecution second = run(jobRepository, new ArrayList<>());
+		Assertions.assertEquals(first.getJobInstance(), second.getJobInstance());
+		Assertions.assertEquals(2, jobRepository.findJobExecutions(first.getJobInstance()).size());
+		Assertions.assertEquals(second, jobRepository.getLastJobExecution("job", new JobParameters()));
+	}
+
+	@Test
+	void checkpoint(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("checkpoint");
+		List<Integer> written = new ArrayList<>();
+		ItemWriter<Integer> failingWriter = chunk -> {
+			if (chunk.getItems().contains(ITEM_COUNT / 2)) {
+				throw new IllegalStateException("Simulated failure");
+			}
+			written.addAll(chunk.getItems());
+		};
+		CheckpointJobRepository repository = new CheckpointJobRepository(file, "job");
+		Assertions.assertFalse(repository.load());
+		Assertions.assertEquals(BatchStatus.FAILED, run(repository, countingReader(), failingWriter).getStatus());
+		Assertions.assertEquals(ITEM_COUNT / 2, written.size());
+		Assertions.assertTrue(Files.exists(file));
+		CheckpointJobRepository restored = new CheckpointJobRepository(file, "job");
+		Assertions.assertTrue(restored.load());
+		JobExecution execution = run(restored, countingReader(), chunk -> written.addAll(chunk.getItems()));
+		Assertions.assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+		Assertions.assertEquals(IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList()), written);
+		Assertions.assertFalse(Files.exists(file));
+	}
+
+	private static ItemReader<Integer> countingReader() {
+		AbstractItemCountingItemStreamItemReader<Integer> reader = new AbstractItemCountingItemStreamItemReader<>() {
+
+			@Override
+			protected Integer doRead() {
+				return getCurrentItemCount() - 1;
+			}
+
+			@Override
+			protected void doOpen() {
+				// Nothing to open
+			}
+
+			@Override
+			protected void doClose() {
+				// Nothing to close
+			}
+
+		};
+		reader.setName("counting");
+		reader.setMaxItemCount(ITEM_COUNT);
+		return reader;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LruCacheTests {
+
+	@Test
+	void evictLeastRecentlyUsed() {
+		LruCache<String, String> cache = new LruCache<>(2, Duration.ZERO);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		Assertions.assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertNull(cache.get("b"));
+		Assertions.assertEquals("1", cache.get("a"));
+		Assertions.assertEquals("3", cache.get("c"));
+	}
+
+	@Test
+	void expire() {
+		AtomicLong clock = new AtomicLong();
+		LruCache<String, String> cache = new LruCache<>(10, Duration.ofNanos(100), clock::get);
+		cache.put("a", "1");
+		clock.set(100);
+		Assertions.assertEquals("1", cache.get("a"));
+		clock.set(101);
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	@Test
+	void disabled() {
+		LruCache<String, String> cache = new LruCache<>(0, Duration.ZERO);
+		cache.put("a", "1");
+		Assertions.assertNull(cache.get("a"));
+	}
+
+	@Test
+	void removeSameValue() {
+		LruCache<String, String> cache = new LruCache<>(10, Duration.ZERO);
+		cache.put("a", "1");
+		cache.remove("a", "2");
+		Assertions.assertEquals("1", cache.get("a"));
+		cache.remove("a", "1");
+		Assertions.assertNull(cache.get("a"));
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.redis.riot.core;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+
+class MetricsServerTests {
+
+	@Test
+	void scrape() throws Exception {
+		try (MetricsServer server = new MetricsServer(MetricsArgs.DEFAULT_HOST, 0, MetricsArgs.DEFAULT_PATH)) {
+			server.start();
+			Assertions.assertTrue(server.getAddress().getAddress().isLoopbackAddress());
+			Metrics.counter("riot.test.items", "step", "test").increment(3);
+			HttpRequest request = HttpRequest
+					.newBuilder(URI.create("http://localhost:" + server.getPort() + MetricsArgs.DEFAULT_PATH)).build();
+			HttpResponse<String> response = HttpClient.newHttpClient().send(request,
+					HttpResponse.BodyHandlers.ofString());
+			Assertions.assertEquals(200, response.statusCode());
+			Assertions.assertTrue(response.headers().firstValue("Content-Type").orElse("")
+					.startsWith("application/openmetrics-text"));
+			Assertions.assertTrue(response.body().contains("riot_test_items_total{step=\"test\"}"));
+			Assertions.assertTrue(response.body().endsWith("# EOF\n"));
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+
+class PipelineItemWriterTests {
+
+	private static final int CHUNK_SIZE = 10;
+
+	private final List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+	private final ExecutionContext executionContext = new ExecutionContext();
+	private final StepExecution stepExecution = new StepExecution("step", new JobExecution(1L));
+
+	private static Chunk<Integer> chunk(int start) {
+		return new Chunk<>(IntStream.range(start, start + CHUNK_SIZE).boxed().collect(Collectors.toList()));
+	}
+
+	private PipelineItemWriter<Integer, Integer> writer(ItemProcessor<Integer, Integer> processor,
+			ItemWriter<Integer> delegate) {
+		PipelineItemWriter<Integer, Integer> writer = new PipelineItemWriter<>(processor, delegate);
+		writer.setThreads(2);
+		writer.beforeStep(stepExecution);
+		writer.open(executionContext);
+		return writer;
+	}
+
+	private void chunk(PipelineItemWriter<Integer, Integer> writer, int start) throws Exception {
+		writer.beforeChunk(null);
+		writer.write(chunk(start));
+		writer.update(executionContext);
+	}
+
+	private void end(PipelineItemWriter<Integer, Integer> writer) {
+		writer.beforeChunk(null);
+		writer.update(executionContext);
+	}
+
+	@Test
+	void overlap() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		PipelineItemWriter<Integer, Integer> writer = writer(null, chunk -> {
+			latch.await();
+			written.addAll(chunk.getItems());
+		});
+		// The first chunk is handed over and committed while it is still being written
+		chunk(writer, 0);
+		Assertions.assertTrue(written.isEmpty());
+		latch.countDown();
+		chunk(writer, CHUNK_SIZE);
+		end(writer);
+		Assertions.assertEquals(2 * CHUNK_SIZE, written.size());
+		writer.close();
+	}
+
+	@Test
+	void failure() throws Exception {
+		PipelineItemWriter<Integer, Integer> writer = writer(null, chunk -> {
+			throw new IllegalStateException("Simulated failure");
+		});
+		chunk(writer, 0);
+		ItemStreamException exception = Assertions.assertThrows(ItemStreamException.class, () -> end(writer));
+		Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+		writer.close();
+	}
+
+	@Test
+	void filtered() throws Exception {
+		PipelineItemWriter<Integer, Integer> writer = writer(item -> item % 2 == 0 ? item : null,
+				chunk -> written.addAll(chunk.getItems()));
+		// The step counts handed over items as written
+		stepExecution.setWriteCount(CHUNK_SIZE);
+		chunk(writer, 0);
+		end(writer);
+		Assertions.assertEquals(CHUNK_SIZE / 2, written.size());
+		Assertions.assertEquals(CHUNK_SIZE / 2, stepExecution.getWriteCount());
+		Assertions.assertEquals(CHUNK_SIZE / 2, stepExecution.getFilterCount());
+		writer.close();
+	}
+
+}
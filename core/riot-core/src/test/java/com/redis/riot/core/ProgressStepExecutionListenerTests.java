@@ -0,0 +1,64 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+
+import me.tongfei.progressbar.DelegatingProgressBarConsumer;
+
+class ProgressStepExecutionListenerTests {
+
+	private static final int MAX_RENDERED_LENGTH = 200;
+
+	private final List<String> rendered = Collections.synchronizedList(new ArrayList<>());
+
+	private ProgressStepExecutionListener<String, String> listener(String status) {
+		Step<String, String> step = new Step<String, String>("step", null, null).taskName("Testing")
+				.maxItemCount(100).statusMessageSupplier(() -> status);
+		ProgressStepExecutionListener<String, String> listener = new ProgressStepExecutionListener<>(step);
+		ProgressArgs args = new ProgressArgs();
+		// Interval longer than the test so that only afterStep updates the bar
+		args.setUpdateInterval(60000);
+		listener.setProgressArgs(args);
+		listener.setConsumer(new DelegatingProgressBarConsumer(rendered::add, MAX_RENDERED_LENGTH));
+		return listener;
+	}
+
+	private StepExecution run(ProgressStepExecutionListener<String, String> listener, BatchStatus status) {
+		StepExecution stepExecution = new StepExecution("step", new JobExecution(1L));
+		listener.beforeStep(stepExecution);
+		listener.afterWrite(new Chunk<>(Arrays.asList("a", "b", "c")));
+		listener.afterWrite(new Chunk<>(Arrays.asList("d", "e")));
+		stepExecution.setStatus(status);
+		listener.afterStep(stepExecution);
+		return stepExecution;
+	}
+
+	private String last() {
+		Assertions.assertFalse(rendered.isEmpty());
+		return rendered.get(rendered.size() - 1);
+	}
+
+	@Test
+	void finalUpdateCompleted() {
+		run(listener("done"), BatchStatus.COMPLETED);
+		Assertions.assertTrue(last().contains("100/100"), last());
+		Assertions.assertTrue(last().contains("done"), last());
+	}
+
+	@Test
+	void finalUpdateFailed() {
+		run(listener("failed"), BatchStatus.FAILED);
+		Assertions.assertTrue(last().contains("5/100"), last());
+		Assertions.assertTrue(last().contains("failed"), last());
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.redis.riot.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTests {
+
+	private static final int RATE = 100;
+	private static final long TOKEN_NANOS = Duration.ofMillis(10).toNanos();
+	private static final int THREADS = 8;
+	private static final int RESERVATIONS = 1000;
+
+	private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toNanos());
+
+	@Test
+	void burst() {
+		RateLimiter limiter = new RateLimiter(RATE, Duration.ofSeconds(1), clock::get);
+		Assertions.assertEquals(0, limiter.reserve(RATE));
+		Assertions.assertEquals(TOKEN_NANOS, limiter.reserve(1));
+		// Idle time only accrues up to the burst
+		clock.addAndGet(Duration.ofSeconds(10).toNanos());
+		Assertions.assertEquals(0, limiter.reserve(RATE));
+		Assertions.assertEquals(TOKEN_NANOS, limiter.reserve(1));
+	}
+
+	@Test
+	void steadyRate() {
+		RateLimiter limiter = new RateLimiter(RATE, Duration.ZERO, clock::get);
+		for (int index = 0; index < 10; index++) {
+			clock.addAndGet(TOKEN_NANOS);
+			Assertions.assertEquals(0, limiter.reserve(1));
+		}
+		Assertions.assertEquals(TOKEN_NANOS, limiter.reserve(1));
+		Assertions.assertEquals(3 * TOKEN_NANOS, limiter.reserve(2));
+		clock.addAndGet(3 * TOKEN_NANOS);
+		Assertions.assertEquals(TOKEN_NANOS, limiter.reserve(1));
+	}
+
+	@Test
+	void contention() throws Exception {
+		RateLimiter limiter = new RateLimiter(RATE, Duration.ZERO, clock::get);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Long> waits = Collections.synchronizedList(new ArrayList<>());
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < THREADS; thread++) {
+				futures.add(executor.submit(() -> {
+					for (int index = 0; index < RESERVATIONS; index++) {
+						waits.add(limiter.reserve(1));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		// Every token is reserved exactly once, none is lost or granted twice
+		Collections.sort(waits);
+		Assertions.assertEquals(THREADS * RESERVATIONS, waits.size());
+		for (int index = 0; index < waits.size(); index++) {
+			Assertions.assertEquals((index + 1) * TOKEN_NANOS, waits.get(index).longValue());
+		}
+	}
+
+}
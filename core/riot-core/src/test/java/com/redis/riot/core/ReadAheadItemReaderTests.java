@@ -0,0 +1,104 @@
+package com.redis.riot.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+
+class ReadAheadItemReaderTests {
+
+	private static final int COUNT = 1000;
+	private static final Set<Integer> BAD_ITEMS = Set.of(10, 500, 999);
+
+	/**
+	 * Delegate that fails on bad items and moves on to the next item, like a flat
+	 * file reader on a line that cannot be parsed.
+	 */
+	private static ItemReader<Integer> failingReader() {
+		AtomicInteger index = new AtomicInteger();
+		return () -> {
+			int item = index.getAndIncrement();
+			if (item >= COUNT) {
+				return null;
+			}
+			if (BAD_ITEMS.contains(item)) {
+				throw new IllegalStateException("Bad item " + item);
+			}
+			return item;
+		};
+	}
+
+	private static ReadAheadItemReader<Integer> reader() {
+		ReadAheadItemReader<Integer> reader = new ReadAheadItemReader<>(failingReader());
+		reader.setCapacity(16);
+		reader.open(new ExecutionContext());
+		return reader;
+	}
+
+	@Test
+	void failuresInOrder() throws Exception {
+		ReadAheadItemReader<Integer> reader = reader();
+		List<Object> results = new ArrayList<>();
+		while (true) {
+			try {
+				Integer item = reader.read();
+				if (item == null) {
+					break;
+				}
+				results.add(item);
+			} catch (IllegalStateException e) {
+				results.add(e.getMessage());
+			}
+		}
+		reader.close();
+		Assertions.assertEquals(COUNT, results.size());
+		for (int index = 0; index < COUNT; index++) {
+			Object expected = BAD_ITEMS.contains(index) ? "Bad item " + index : index;
+			Assertions.assertEquals(expected, results.get(index));
+		}
+		// Reads after the end of the delegate keep returning null
+		Assertions.assertNull(reader.read());
+	}
+
+	@Test
+	void failuresMultiThreaded() throws Exception {
+		ReadAheadItemReader<Integer> reader = reader();
+		Set<Integer> items = ConcurrentHashMap.newKeySet();
+		AtomicInteger failures = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int index = 0; index < 4; index++) {
+			futures.add(executor.submit(() -> {
+				while (true) {
+					try {
+						Integer item = reader.read();
+						if (item == null) {
+							return null;
+						}
+						items.add(item);
+					} catch (IllegalStateException e) {
+						failures.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		reader.close();
+		Assertions.assertEquals(COUNT - BAD_ITEMS.size(), items.size());
+		Assertions.assertEquals(BAD_ITEMS.size(), failures.get());
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.redis.riot.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.redis.riot.core.InMemoryJobRepository;
+import com.redis.spring.batch.JobUtils;
+
+/**
+ * Runs a multi-threaded step of 100,000 items in chunks of 50 whose writer
+ * waits 1ms per chunk to simulate a Redis round trip, comparing worker threads
+ * from a platform thread pool (--executor platform) with pooled virtual threads
+ * (--executor virtual). The virtual executor requires Java 21+.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ExecutorBenchmark {
+
+	private static final int ITEM_COUNT = 100000;
+	private static final int CHUNK_SIZE = 50;
+	private static final long WRITE_MILLIS = 1;
+
+	@Param({ "platform", "virtual" })
+	private String executor;
+
+	@Param({ "8", "64", "256" })
+	private int threads;
+
+	private ThreadPoolTaskExecutor taskExecutor;
+
+	@Setup(Level.Invocation)
+	public void setup() {
+		taskExecutor = new ThreadPoolTaskExecutor();
+		if (executor.equals("virtual")) {
+			taskExecutor.setThreadFactory(new VirtualThreadTaskExecutor("bench-").getVirtualThreadFactory());
+		}
+		taskExecutor.setMaxPoolSize(threads);
+		taskExecutor.setCorePoolSize(threads);
+		taskExecutor.initialize();
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDown() {
+		taskExecutor.shutdown();
+	}
+
+	@Benchmark
+	@SuppressWarnings("removal")
+	public JobExecution run() throws Exception {
+		JobRepository jobRepository = new InMemoryJobRepository();
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.setTaskExecutor(new SyncTaskExecutor());
+		launcher.afterPropertiesSet();
+		Job job = new JobBuilder("job", jobRepository)
+				.start(new StepBuilder("step", jobRepository)
+						.<Integer, Integer>chunk(CHUNK_SIZE, JobUtils.resourcelessTransactionManager())
+						.reader(reader()).writer(chunk -> Thread.sleep(WRITE_MILLIS)).taskExecutor(taskExecutor)
+						.throttleLimit(threads).build())
+				.build();
+		return launcher.run(job, new JobParameters());
+	}
+
+	private ItemReader<Integer> reader() {
+		AtomicInteger count = new AtomicInteger();
+		return () -> {
+			int index = count.getAndIncrement();
+			return index < ITEM_COUNT ? index : null;
+		};
+	}
+
+}
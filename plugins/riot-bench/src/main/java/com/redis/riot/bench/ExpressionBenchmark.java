@@ -0,0 +1,78 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import com.redis.riot.core.Expression;
+import com.redis.riot.core.QuietMapAccessor;
+import com.redis.riot.core.TemplateExpression;
+
+/**
+ * Evaluates typical --filter, --proc and key template expressions on a record,
+ * interpreted and compiled.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpressionBenchmark {
+
+	@Param({ "OFF", "MIXED" })
+	private SpelCompilerMode compilerMode;
+
+	private StandardEvaluationContext context;
+	private Expression filter;
+	private Expression proc;
+	private TemplateExpression key;
+	private Map<String, Object> record;
+
+	@Setup
+	public void setup() {
+		Expression.setCompilerMode(compilerMode);
+		context = new StandardEvaluationContext();
+		context.addPropertyAccessor(new QuietMapAccessor());
+		filter = Expression.parse("id != null and type.length() > 3");
+		proc = Expression.parse("type + ':' + amount");
+		key = Expression.parseTemplate("order:#{type}:#{id}");
+		record = new Payloads().record(20);
+	}
+
+	@TearDown
+	public void tearDown() {
+		Expression.setCompilerMode(SpelCompilerMode.OFF);
+	}
+
+	@Benchmark
+	public void filter(Blackhole blackhole) {
+		blackhole.consume(filter.predicate(context).test(record));
+	}
+
+	@Benchmark
+	public void proc(Blackhole blackhole) {
+		blackhole.consume(proc.getValue(context, record));
+	}
+
+	@Benchmark
+	public void keyTemplate(Blackhole blackhole) {
+		blackhole.consume(key.getValue(context, record));
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.redis.riot.core.processor.FieldExtractorFactory;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FieldExtractorBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean nullCheck;
+
+	private Function<Map<String, Object>, String> stringField;
+	private ToLongFunction<Map<String, Object>> longField;
+	private ToDoubleFunction<Map<String, Object>> doubleField;
+	private Map<String, Object> record;
+
+	@Setup
+	public void setup() {
+		FieldExtractorFactory factory = FieldExtractorFactory.builder().nullCheck(nullCheck).build();
+		stringField = factory.string("type");
+		longField = factory.longField("timestamp");
+		doubleField = factory.doubleField("amount", 0);
+		record = new Payloads().record(20);
+	}
+
+	@Benchmark
+	public void extract(Blackhole blackhole) {
+		blackhole.consume(stringField.apply(record));
+		blackhole.consume(longField.applyAsLong(record));
+		blackhole.consume(doubleField.applyAsDouble(record));
+	}
+
+}
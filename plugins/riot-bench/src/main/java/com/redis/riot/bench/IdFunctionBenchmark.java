@@ -0,0 +1,54 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redis.riot.core.processor.IdFunctionBuilder;
+
+/**
+ * Key generation from record fields, e.g. `--keyspace order --key id --key type`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IdFunctionBenchmark {
+
+	@Param({ "1", "2", "3" })
+	private int keyFields;
+
+	private Function<Map<String, Object>, String> function;
+	private Map<String, Object> record;
+
+	@Setup
+	public void setup() {
+		String[] fields = { "id", "type", "timestamp" };
+		IdFunctionBuilder builder = new IdFunctionBuilder().prefix("order");
+		for (int index = 0; index < keyFields; index++) {
+			builder.fields(fields[index]);
+		}
+		function = builder.build();
+		record = new Payloads().record(20);
+	}
+
+	@Benchmark
+	public String key() {
+		return function.apply(record);
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.redis.riot.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import com.redis.riot.core.InMemoryJobRepository;
+import com.redis.spring.batch.JobUtils;
+
+/**
+ * Creates a job repository and runs a job of 10,000 items in chunks of 10
+ * against it, comparing the JDBC repository backed by an embedded database with
+ * the in-memory repository. Each invocation creates a new repository, as each
+ * riot command does.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class JobRepositoryBenchmark {
+
+	private static final int ITEM_COUNT = 10000;
+	private static final int CHUNK_SIZE = 10;
+
+	@Param({ "jdbc", "memory" })
+	private String repository;
+
+	private final AtomicInteger names = new AtomicInteger();
+	private List<Integer> items;
+
+	@Setup
+	public void setup() {
+		items = IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public JobExecution run() throws Exception {
+		JobRepository jobRepository = jobRepository();
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.setTaskExecutor(new SyncTaskExecutor());
+		launcher.afterPropertiesSet();
+		Job job = new JobBuilder("job", jobRepository)
+				.start(new StepBuilder("step", jobRepository)
+						.<Integer, Integer>chunk(CHUNK_SIZE, JobUtils.resourcelessTransactionManager())
+						.reader(new ListItemReader<>(items)).writer(chunk -> {
+						}).build())
+				.build();
+		return launcher.run(job, new JobParameters());
+	}
+
+	private JobRepository jobRepository() throws Exception {
+		if (repository.equals("jdbc")) {
+			// Distinct embedded database for each run, like separate riot commands
+			return JobUtils.jobRepositoryFactoryBean("bench-" + names.incrementAndGet()).getObject();
+		}
+		return new InMemoryJobRepository();
+	}
+
+}
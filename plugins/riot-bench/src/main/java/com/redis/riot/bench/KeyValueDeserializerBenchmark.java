@@ -0,0 +1,55 @@
+package com.redis.riot.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.redis.riot.KeyValueDeserializer;
+import com.redis.spring.batch.item.redis.common.KeyValue;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyValueDeserializerBenchmark {
+
+	@Param({ "HASH_SMALL", "HASH_LARGE", "STREAM", "TIMESERIES" })
+	private PayloadType type;
+
+	private ObjectReader reader;
+	private byte[] json;
+
+	@Setup
+	public void setup() throws IOException {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.configure(DeserializationFeature.USE_LONG_FOR_INTS, true);
+		SimpleModule module = new SimpleModule();
+		module.addDeserializer(KeyValue.class, new KeyValueDeserializer());
+		mapper.registerModule(module);
+		reader = mapper.readerFor(KeyValue.class);
+		json = mapper.writeValueAsBytes(new Payloads().keyValue(type));
+	}
+
+	@Benchmark
+	public KeyValue<String> deserialize() throws IOException {
+		return reader.readValue(json);
+	}
+
+}
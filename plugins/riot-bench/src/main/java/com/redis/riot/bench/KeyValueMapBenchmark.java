@@ -0,0 +1,45 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redis.riot.function.KeyValueMap;
+import com.redis.spring.batch.item.redis.common.KeyValue;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyValueMapBenchmark {
+
+	@Param({ "HASH_SMALL", "HASH_LARGE", "STREAM", "TIMESERIES" })
+	private PayloadType type;
+
+	private final KeyValueMap function = new KeyValueMap();
+	private KeyValue<String> keyValue;
+
+	@Setup
+	public void setup() {
+		keyValue = new Payloads().keyValue(type);
+	}
+
+	@Benchmark
+	public Map<String, Object> apply() {
+		return function.apply(keyValue);
+	}
+
+}
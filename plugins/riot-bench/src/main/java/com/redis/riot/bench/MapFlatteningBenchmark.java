@@ -0,0 +1,45 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redis.riot.core.processor.MapFlatteningFunction;
+import com.redis.riot.core.processor.ObjectToStringFunction;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapFlatteningBenchmark {
+
+	@Param({ "1", "10", "100" })
+	private int lineItems;
+
+	private final MapFlatteningFunction<String> function = new MapFlatteningFunction<>(new ObjectToStringFunction());
+	private Map<String, Object> document;
+
+	@Setup
+	public void setup() {
+		document = new Payloads().document(lineItems);
+	}
+
+	@Benchmark
+	public Map<String, String> flatten() {
+		return function.apply(document);
+	}
+
+}
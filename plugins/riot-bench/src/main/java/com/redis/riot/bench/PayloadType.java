@@ -0,0 +1,7 @@
+package com.redis.riot.bench;
+
+public enum PayloadType {
+
+	HASH_SMALL, HASH_LARGE, STREAM, TIMESERIES
+
+}
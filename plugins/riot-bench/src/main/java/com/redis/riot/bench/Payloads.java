@@ -0,0 +1,152 @@
+package com.redis.riot.bench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.redis.lettucemod.timeseries.Sample;
+import com.redis.spring.batch.item.redis.common.DataType;
+import com.redis.spring.batch.item.redis.common.KeyValue;
+
+import io.lettuce.core.StreamMessage;
+
+/**
+ * Generates realistic payloads for benchmarks. Generation is seeded so that
+ * runs are comparable.
+ */
+public class Payloads {
+
+	public static final int SMALL_HASH_FIELDS = 10;
+	public static final int LARGE_HASH_FIELDS = 1000;
+	public static final int STREAM_MESSAGES = 100;
+	public static final int STREAM_MESSAGE_FIELDS = 5;
+	public static final int TIMESERIES_SAMPLES = 1000;
+
+	private final Random random = new Random(42);
+
+	public KeyValue<String> keyValue(PayloadType type) {
+		switch (type) {
+		case HASH_SMALL:
+			return keyValue("hash:1", DataType.HASH, hash(SMALL_HASH_FIELDS));
+		case HASH_LARGE:
+			return keyValue("hash:2", DataType.HASH, hash(LARGE_HASH_FIELDS));
+		case STREAM:
+			return keyValue("stream:1", DataType.STREAM, stream(STREAM_MESSAGES, STREAM_MESSAGE_FIELDS));
+		case TIMESERIES:
+			return keyValue("ts:1", DataType.TIMESERIES, timeseries(TIMESERIES_SAMPLES));
+		default:
+			throw new IllegalArgumentException("Unsupported payload type: " + type);
+		}
+	}
+
+	private KeyValue<String> keyValue(String key, DataType type, Object value) {
+		KeyValue<String> keyValue = new KeyValue<>();
+		keyValue.setKey(key);
+		keyValue.setType(type.getString());
+		keyValue.setTtl(-1);
+		keyValue.setValue(value);
+		return keyValue;
+	}
+
+	public Map<String, String> hash(int fields) {
+		Map<String, String> hash = new LinkedHashMap<>();
+		for (int index = 0; index < fields; index++) {
+			hash.put("field" + index, string(20));
+		}
+		return hash;
+	}
+
+	public Collection<StreamMessage<String, String>> stream(int messages, int fields) {
+		List<StreamMessage<String, String>> stream = new ArrayList<>(messages);
+		long timestamp = 1700000000000L;
+		for (int index = 0; index < messages; index++) {
+			stream.add(new StreamMessage<>("stream:1", (timestamp + index) + "-0", hash(fields)));
+		}
+		return stream;
+	}
+
+	public Collection<Sample> timeseries(int samples) {
+		List<Sample> timeseries = new ArrayList<>(samples);
+		long timestamp = 1700000000000L;
+		for (int index = 0; index < samples; index++) {
+			timeseries.add(Sample.of(timestamp + index * 1000L, random.nextDouble() * 100));
+		}
+		return timeseries;
+	}
+
+	/**
+	 * Nested document as found in JSON imports, e.g. an order with a customer and
+	 * line items.
+	 */
+	public Map<String, Object> document(int lineItems) {
+		Map<String, Object> customer = new LinkedHashMap<>();
+		customer.put("id", random.nextInt(100000));
+		customer.put("name", string(12));
+		customer.put("address", Map.of("street", string(20), "city", string(10), "zip", string(5)));
+		List<Map<String, Object>> items = new ArrayList<>(lineItems);
+		for (int index = 0; index < lineItems; index++) {
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("sku", string(8));
+			item.put("quantity", random.nextInt(10));
+			item.put("price", random.nextDouble() * 100);
+			item.put("tags", List.of(string(4), string(4)));
+			items.add(item);
+		}
+		Map<String, Object> document = new LinkedHashMap<>();
+		document.put("id", random.nextInt(1000000));
+		document.put("date", "2024-01-01T00:00:00Z");
+		document.put("customer", customer);
+		document.put("items", items);
+		return document;
+	}
+
+	/**
+	 * Flat record as produced by file or database readers.
+	 */
+	public Map<String, Object> record(int fields) {
+		Map<String, Object> record = new LinkedHashMap<>();
+		record.put("id", String.valueOf(random.nextInt(1000000)));
+		record.put("type", string(6));
+		record.put("amount", String.valueOf(random.nextDouble() * 1000));
+		record.put("timestamp", String.valueOf(1700000000000L + random.nextInt(1000000)));
+		for (int index = record.size(); index < fields; index++) {
+			record.put("field" + index, string(12));
+		}
+		return record;
+	}
+
+	public String csvLine(int fields) {
+		StringBuilder line = new StringBuilder();
+		for (int index = 0; index < fields; index++) {
+			if (index > 0) {
+				line.append(',');
+			}
+			if (index % 5 == 4) {
+				line.append('"').append(string(8)).append(", ").append(string(8)).append('"');
+			} else {
+				line.append(string(10));
+			}
+		}
+		return line.toString();
+	}
+
+	public String fixedLengthLine(int fields, int width) {
+		StringBuilder line = new StringBuilder();
+		for (int index = 0; index < fields; index++) {
+			line.append(String.format("%-" + width + "s", string(width - 2)));
+		}
+		return line.toString();
+	}
+
+	public String string(int length) {
+		StringBuilder string = new StringBuilder(length);
+		for (int index = 0; index < length; index++) {
+			string.append((char) ('a' + random.nextInt(26)));
+		}
+		return string.toString();
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.redis.riot.core.processor.RegexNamedGroupFunction;
+
+/**
+ * Field extraction from keys, e.g. `--key-regex 'order:(?<type>\w+):(?<id>.+)'`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RegexNamedGroupBenchmark {
+
+	@Param({ "order:(?<id>.+)", "order:(?<type>\\w+):(?<region>\\w+):(?<id>.+)" })
+	private String regex;
+
+	private RegexNamedGroupFunction function;
+	private String key;
+
+	@Setup
+	public void setup() {
+		function = new RegexNamedGroupFunction(Pattern.compile(regex));
+		key = "order:retail:emea:" + new Payloads().string(12);
+	}
+
+	@Benchmark
+	public Map<String, String> apply() {
+		return function.apply(key);
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.redis.riot.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
+import org.springframework.batch.item.file.transform.Range;
+
+import com.redis.riot.file.MapFieldSetMapper;
+
+/**
+ * Line tokenizing and field mapping of delimited and fixed-length file imports.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenizerBenchmark {
+
+	private static final int FIELD_WIDTH = 12;
+
+	@Param({ "10", "50" })
+	private int fields;
+
+	private final MapFieldSetMapper mapper = new MapFieldSetMapper();
+	private DelimitedLineTokenizer delimitedTokenizer;
+	private FixedLengthTokenizer fixedLengthTokenizer;
+	private String csvLine;
+	private String fixedLengthLine;
+
+	@Setup
+	public void setup() {
+		String[] names = IntStream.range(0, fields).mapToObj(i -> "field" + i).toArray(String[]::new);
+		delimitedTokenizer = new DelimitedLineTokenizer();
+		delimitedTokenizer.setNames(names);
+		fixedLengthTokenizer = new FixedLengthTokenizer();
+		fixedLengthTokenizer.setNames(names);
+		fixedLengthTokenizer.setColumns(IntStream.range(0, fields)
+				.mapToObj(i -> new Range(i * FIELD_WIDTH + 1, (i + 1) * FIELD_WIDTH)).toArray(Range[]::new));
+		Payloads payloads = new Payloads();
+		csvLine = payloads.csvLine(fields);
+		fixedLengthLine = payloads.fixedLengthLine(fields, FIELD_WIDTH);
+	}
+
+	@Benchmark
+	public Map<String, Object> delimited() {
+		return mapper.mapFieldSet(delimitedTokenizer.tokenize(csvLine));
+	}
+
+	@Benchmark
+	public Map<String, Object> fixedLength() {
+		return mapper.mapFieldSet(fixedLengthTokenizer.tokenize(fixedLengthLine));
+	}
+
+}
@@ -1,11 +1,14 @@
 package com.redis.riot;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
 
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.function.FunctionItemProcessor;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.util.Assert;
 
 import com.redis.riot.CompareStatusItemWriter.StatusCount;
@@ -63,7 +66,7 @@ public abstract class AbstractCompareCommand extends AbstractReplicateCommand {
 		if (isIgnoreStreamMessageId()) {
 			Assert.isTrue(isStruct(), "--no-stream-id can only be used with --struct");
 		}
-		StandardEvaluationContext evaluationContext = evaluationContext();
+		EvaluationContext evaluationContext = evaluationContext();
 		log.info("Creating processor with {}", processorArgs);
 		ItemProcessor<KeyValue<String>, KeyValue<String>> processor = processorArgs.processor(evaluationContext);
 		if (processor == null) {
@@ -74,11 +77,9 @@ public abstract class AbstractCompareCommand extends AbstractReplicateCommand {
 		return RiotUtils.processor(new FunctionItemProcessor<>(code), processor, new FunctionItemProcessor<>(decode));
 	}
 
-	private StandardEvaluationContext evaluationContext() {
+	private EvaluationContext evaluationContext() {
 		log.info("Creating SpEL evaluation context with {}", evaluationContextArgs);
-		StandardEvaluationContext evaluationContext = evaluationContextArgs.evaluationContext();
-		configure(evaluationContext);
-		return evaluationContext;
+		return evaluationContextArgs.evaluationContext(this::configure);
 	}
 
 	private String compareMessage(Collection<StatusCount> counts) {
@@ -87,18 +88,44 @@ public abstract class AbstractCompareCommand extends AbstractReplicateCommand {
 		return builder.toString();
 	}
 
+	/**
+	 * When partitioned, only partitions read. The parent step has no reader of its
+	 * own and shares its writer with partitions so that mismatches are counted
+	 * across the whole database.
+	 */
 	protected Step<KeyComparison<byte[]>, KeyComparison<byte[]>> compareStep() {
-		KeyComparisonItemReader<byte[], byte[]> reader = compareReader();
 		CompareStatusItemWriter<byte[]> writer = new CompareStatusItemWriter<>();
-		Step<KeyComparison<byte[]>, KeyComparison<byte[]>> step = new Step<>(COMPARE_STEP_NAME, reader, writer);
+		Step<KeyComparison<byte[]>, KeyComparison<byte[]>> step;
+		if (isPartitioned()) {
+			step = new Step<>(COMPARE_STEP_NAME, null, writer);
+			List<RedisContext> partitionContexts = partitionRedisContexts();
+			List<LongSupplier> maxItemCounts = new ArrayList<>();
+			for (int index = 0; index < partitionContexts.size(); index++) {
+				String name = COMPARE_STEP_NAME + "-" + index;
+				KeyComparisonItemReader<byte[], byte[]> reader = compareReader(partitionContexts.get(index), name);
+				maxItemCounts.add(RedisScanSizeEstimator.from(reader.getSourceReader()));
+				step.partition(compareStep(name, reader, writer));
+			}
+			step.partitionConcurrency(getPartitions());
+			step.maxItemCountSupplier(() -> maxItemCounts.stream().mapToLong(LongSupplier::getAsLong).sum());
+		} else {
+			KeyComparisonItemReader<byte[], byte[]> reader = compareReader();
+			step = compareStep(COMPARE_STEP_NAME, reader, writer);
+			step.maxItemCountSupplier(RedisScanSizeEstimator.from(reader.getSourceReader()));
+		}
 		step.taskName(COMPARE_TASK_NAME);
 		step.statusMessageSupplier(() -> compareMessage(writer.getMismatches()));
-		step.maxItemCountSupplier(RedisScanSizeEstimator.from(reader.getSourceReader()));
+		step.executionListener(new CompareStepListener(writer));
+		return step;
+	}
+
+	private Step<KeyComparison<byte[]>, KeyComparison<byte[]>> compareStep(String name,
+			KeyComparisonItemReader<byte[], byte[]> reader, CompareStatusItemWriter<byte[]> writer) {
+		Step<KeyComparison<byte[]>, KeyComparison<byte[]>> step = new Step<>(name, reader, writer);
 		if (showDiffs) {
 			log.info("Adding key diff logger");
 			step.writeListener(new CompareLoggingWriteListener<>(ByteArrayCodec.INSTANCE));
 		}
-		step.executionListener(new CompareStepListener(writer));
 		return step;
 	}
 
@@ -114,7 +141,16 @@ public abstract class AbstractCompareCommand extends AbstractReplicateCommand {
 	protected abstract boolean isQuickCompare();
 
 	protected KeyComparisonItemReader<byte[], byte[]> compareReader() {
-		RedisItemReader<byte[], byte[]> source = compareSourceReader();
+		return compareReader(null, null);
+	}
+
+	/**
+	 * @param sourcePartition source node to compare, or null to compare the whole
+	 *                        source
+	 * @param step            name of the partition step
+	 */
+	protected KeyComparisonItemReader<byte[], byte[]> compareReader(RedisContext sourcePartition, String step) {
+		RedisItemReader<byte[], byte[]> source = compareSourceReader(sourcePartition, step);
 		RedisItemReader<byte[], byte[]> target = compareTargetReader();
 		KeyComparisonItemReader<byte[], byte[]> reader = new KeyComparisonItemReader<>(source, target);
 		reader.setComparator(keyComparator());
@@ -136,9 +172,9 @@ public abstract class AbstractCompareCommand extends AbstractReplicateCommand {
 		return !processorArgs.isPropagateIds();
 	}
 
-	private RedisItemReader<byte[], byte[]> compareSourceReader() {
+	private RedisItemReader<byte[], byte[]> compareSourceReader(RedisContext partition, String step) {
 		RedisItemReader<byte[], byte[]> reader = compareRedisReader();
-		configureSourceRedisReader(reader);
+		configureSourceRedisReader(reader, partition, step);
 		return reader;
 	}
 
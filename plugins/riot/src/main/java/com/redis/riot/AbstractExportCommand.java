@@ -11,10 +11,12 @@ import org.springframework.util.Assert;
 import com.redis.lettucemod.RedisModulesUtils;
 import com.redis.lettucemod.api.StatefulRedisModulesConnection;
 import com.redis.riot.core.AbstractJobCommand;
+import com.redis.riot.core.AutoTuner;
 import com.redis.riot.core.Step;
 import com.redis.spring.batch.item.redis.RedisItemReader;
 import com.redis.spring.batch.item.redis.RedisItemReader.ReaderMode;
 import com.redis.spring.batch.item.redis.common.KeyValue;
+import com.redis.spring.batch.item.redis.reader.KeyNotificationItemReader;
 
 import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.RedisException;
@@ -24,10 +26,13 @@ public abstract class AbstractExportCommand extends AbstractJobCommand {
 
 	public static final String NOTIFY_CONFIG = "notify-keyspace-events";
 	public static final String NOTIFY_CONFIG_VALUE = "KEA";
+	public static final String QUEUE_SIZE_METRIC = "riot.reader.queue.size";
+	public static final String QUEUE_CAPACITY_METRIC = "riot.reader.queue.remaining";
 
 	private static final String TASK_NAME = "Exporting";
 	private static final String STEP_NAME = "step";
 	private static final String VAR_SOURCE = "source";
+	protected static final int CALIBRATION_SAMPLES = 16;
 
 	@ArgGroup(exclusive = false)
 	private RedisReaderArgs sourceRedisReaderArgs = new RedisReaderArgs();
@@ -55,6 +60,18 @@ public abstract class AbstractExportCommand extends AbstractJobCommand {
 		sourceRedisReaderArgs.configure(reader);
 	}
 
+	@Override
+	protected void calibrate(AutoTuner tuner) {
+		tuner.setRtt(sourceRedisContext.roundTripTime(CALIBRATION_SAMPLES));
+		tuner.setValueSize(sourceRedisContext.memoryUsage(CALIBRATION_SAMPLES));
+	}
+
+	@Override
+	protected void tune(AutoTuner tuner) {
+		super.tune(tuner);
+		sourceRedisReaderArgs.tune(tuner, this::isOptionSet);
+	}
+
 	protected abstract RedisContext sourceRedisContext();
 
 	protected <O> Step<KeyValue<String>, O> step(ItemWriter<O> writer) {
@@ -78,10 +95,30 @@ public abstract class AbstractExportCommand extends AbstractJobCommand {
 			step.live(true);
 			step.flushInterval(reader.getFlushInterval());
 			step.idleTimeout(reader.getIdleTimeout());
+			step.gauge(QUEUE_SIZE_METRIC, () -> queueSize(reader));
+			step.gauge(QUEUE_CAPACITY_METRIC, () -> queueRemainingCapacity(reader));
 		}
 		return step;
 	}
 
+	@SuppressWarnings("rawtypes")
+	private int queueSize(RedisItemReader<?, ?> reader) {
+		KeyNotificationItemReader keyReader = (KeyNotificationItemReader) reader.getReader();
+		if (keyReader == null || keyReader.getQueue() == null) {
+			return 0;
+		}
+		return keyReader.getQueue().size();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private int queueRemainingCapacity(RedisItemReader<?, ?> reader) {
+		KeyNotificationItemReader keyReader = (KeyNotificationItemReader) reader.getReader();
+		if (keyReader == null || keyReader.getQueue() == null) {
+			return 0;
+		}
+		return keyReader.getQueue().remainingCapacity();
+	}
+
 	private void checkNotifyConfig(AbstractRedisClient client) {
 		Map<String, String> valueMap;
 		try (StatefulRedisModulesConnection<String, String> conn = RedisModulesUtils.connection(client)) {
@@ -104,6 +141,10 @@ public abstract class AbstractExportCommand extends AbstractJobCommand {
 		return string.codePoints().mapToObj(c -> (char) c).collect(Collectors.toSet());
 	}
 
+	protected RedisContext getSourceRedisContext() {
+		return sourceRedisContext;
+	}
+
 	public RedisReaderArgs getSourceRedisReaderArgs() {
 		return sourceRedisReaderArgs;
 	}
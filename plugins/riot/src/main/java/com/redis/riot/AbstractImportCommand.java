@@ -1,25 +1,37 @@
 package com.redis.riot;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.function.FunctionItemProcessor;
+import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import com.redis.riot.core.AbstractJobCommand;
+import com.redis.riot.core.AutoTuner;
+import com.redis.riot.core.CoalescingItemWriter;
+import com.redis.riot.core.DeadLetterWriter;
 import com.redis.riot.core.Expression;
 import com.redis.riot.core.QuietMapAccessor;
+import com.redis.riot.core.RecoveryMode;
 import com.redis.riot.core.RiotUtils;
 import com.redis.riot.core.Step;
 import com.redis.riot.core.processor.PredicateOperator;
+import com.redis.riot.operation.AggregatingOperationCommand;
+import com.redis.riot.operation.CoalesceMode;
 import com.redis.riot.operation.DelCommand;
 import com.redis.riot.operation.ExpireCommand;
 import com.redis.riot.operation.GeoaddCommand;
@@ -40,6 +52,7 @@ import com.redis.spring.batch.item.redis.common.Operation;
 
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
 
 @Command(subcommands = { ExpireCommand.class, DelCommand.class, GeoaddCommand.class, HsetCommand.class,
 		LpushCommand.class, RpushCommand.class, SaddCommand.class, SetCommand.class, XaddCommand.class,
@@ -49,7 +62,10 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 
 	private static final String TASK_NAME = "Importing";
 	private static final String STEP_NAME = "step";
+	private static final int CALIBRATION_SAMPLES = 16;
 	public static final String VAR_REDIS = "redis";
+	public static final String VAR_LOOKUP = "lookup";
+	public static final String COALESCED_METRIC = "riot.writer.coalesced";
 
 	@ArgGroup(exclusive = false)
 	private RedisWriterArgs targetRedisWriterArgs = new RedisWriterArgs();
@@ -60,34 +76,92 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 	@ArgGroup(exclusive = false)
 	private ImportProcessorArgs processorArgs = new ImportProcessorArgs();
 
+	@ArgGroup(exclusive = false)
+	private LookupArgs lookupArgs = new LookupArgs();
+
+	@Option(names = "--coalesce", description = "Coalesce writes to the same key within each batch: hset merges fields, set and json.set keep the last value.")
+	private boolean coalesce;
+
+	@Option(names = "--aggregate", description = "Aggregate members added to the same key within each batch into a single sadd, zadd, rpush or lpush command.")
+	private boolean aggregate;
+
+	@ArgGroup(exclusive = false)
+	private DeadLetterArgs deadLetterArgs = new DeadLetterArgs();
+
 	private RedisContext targetRedisContext;
+	private RedisLookup lookup;
 
 	/**
 	 * Initialized manually during command parsing
 	 */
 	private List<OperationCommand> importOperationCommands = new ArrayList<>();
 
-	protected List<Operation<String, String, Map<String, Object>, Object>> operations() {
-		return importOperationCommands.stream().map(OperationCommand::operation).collect(Collectors.toList());
-	}
-
 	protected boolean hasOperations() {
 		return !CollectionUtils.isEmpty(importOperationCommands);
 	}
 
 	protected Step<Map<String, Object>, Map<String, Object>> step(ItemReader<Map<String, Object>> reader) {
 		Assert.isTrue(hasOperations(), "No Redis command specified");
-		RedisItemWriter<String, String, Map<String, Object>> writer = operationWriter();
-		configureTargetRedisWriter(writer);
-		Step<Map<String, Object>, Map<String, Object>> step = new Step<>(STEP_NAME, reader, writer);
-		step.processor(processor());
+		Step<Map<String, Object>, Map<String, Object>> step = step(STEP_NAME, reader, operationWriter());
 		step.taskName(TASK_NAME);
 		return step;
 	}
 
+	protected Step<Map<String, Object>, Map<String, Object>> step(String name, ItemReader<Map<String, Object>> reader,
+			ItemWriter<Map<String, Object>> writer) {
+		Step<Map<String, Object>, Map<String, Object>> step;
+		if (coalesce) {
+			CoalescingItemWriter<Map<String, Object>> coalescingWriter = coalescingWriter(writer);
+			step = new Step<>(name, reader, coalescingWriter);
+			step.gauge(COALESCED_METRIC, coalescingWriter::getCoalescedCount);
+		} else {
+			step = new Step<>(name, reader, writer);
+		}
+		// Processor and prefetch listener share the same context and variables
+		EvaluationContext evaluationContext = evaluationContext();
+		step.processor(processor(evaluationContext));
+		if (lookupArgs.getPrefetch() != null) {
+			log.info("Prefetching lookups with key {}", lookupArgs.getPrefetch());
+			step.readListener(new LookupPrefetchListener(lookup, lookupArgs.getPrefetch(), evaluationContext));
+		}
+		return step;
+	}
+
+	/**
+	 * Only the last of several overwrites of a key survives, so a batch can be
+	 * reduced to a single write per key, with last-write-wins semantics. HSET
+	 * leaves fields that are not written in place, so hash writes are merged
+	 * field by field instead.
+	 */
+	private CoalescingItemWriter<Map<String, Object>> coalescingWriter(ItemWriter<Map<String, Object>> writer) {
+		Set<CoalesceMode> modes = new HashSet<>();
+		List<Function<Map<String, Object>, ?>> keys = new ArrayList<>();
+		for (OperationCommand command : importOperationCommands) {
+			Assert.notNull(command.coalesceMode(), "--coalesce only supports hset, set and json.set commands without --path");
+			modes.add(command.coalesceMode());
+			keys.add(command.coalesceKey());
+		}
+		Assert.isTrue(modes.size() == 1, "--coalesce cannot combine hset with set or json.set commands");
+		log.info("Coalescing writes with mode {}", modes);
+		Function<Map<String, Object>, ?> key = keys.size() == 1 ? keys.get(0)
+				: item -> keys.stream().map(k -> k.apply(item)).collect(Collectors.toList());
+		if (modes.contains(CoalesceMode.MERGE)) {
+			return new CoalescingItemWriter<>(writer, key, AbstractImportCommand::mergeFields);
+		}
+		return new CoalescingItemWriter<>(writer, key, (previous, last) -> last);
+	}
+
+	private static Map<String, Object> mergeFields(Map<String, Object> previous, Map<String, Object> last) {
+		Map<String, Object> merged = new LinkedHashMap<>(previous);
+		merged.putAll(last);
+		return merged;
+	}
+
 	@Override
 	protected void execute() throws Exception {
 		targetRedisContext = targetRedisContext();
+		log.info("Creating Redis lookup with {}", lookupArgs);
+		lookup = lookupArgs.lookup(targetRedisContext.getConnection());
 		try {
 			super.execute();
 		} finally {
@@ -95,14 +169,39 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 		}
 	}
 
-	protected ItemProcessor<Map<String, Object>, Map<String, Object>> processor() {
-		log.info("Creating SpEL evaluation context with {}", evaluationContextArgs);
-		StandardEvaluationContext evaluationContext = evaluationContextArgs.evaluationContext();
-		evaluationContext.setVariable(VAR_REDIS, targetRedisContext.getConnection().sync());
-		evaluationContext.addPropertyAccessor(new QuietMapAccessor());
+	@Override
+	protected DeadLetterWriter deadLetterWriter() throws IOException {
+		Assert.isTrue(deadLetterArgs.getFile() == null || deadLetterArgs.getStream() == null,
+				"Only one of --dlq and --dlq-stream can be specified");
+		if (deadLetterArgs.getFile() != null) {
+			log.info("Writing skipped items to file {}", deadLetterArgs.getFile());
+			return new JsonDeadLetterWriter(deadLetterArgs.getFile().toPath());
+		}
+		if (deadLetterArgs.getStream() != null) {
+			log.info("Writing skipped items to stream {}", deadLetterArgs.getStream());
+			return new StreamDeadLetterWriter(targetRedisContext.getConnection(), deadLetterArgs.getStream());
+		}
+		return null;
+	}
+
+	@Override
+	protected void calibrate(AutoTuner tuner) {
+		tuner.setRtt(targetRedisContext.roundTripTime(CALIBRATION_SAMPLES));
+	}
+
+	protected ItemProcessor<Map<String, Object>, Map<String, Object>> processor(EvaluationContext evaluationContext) {
 		return processor(evaluationContext, processorArgs);
 	}
 
+	private EvaluationContext evaluationContext() {
+		log.info("Creating SpEL evaluation context with {}", evaluationContextArgs);
+		return evaluationContextArgs.evaluationContext(context -> {
+			context.setVariable(VAR_REDIS, targetRedisContext.getConnection().sync());
+			context.setVariable(VAR_LOOKUP, lookup);
+			context.addPropertyAccessor(new QuietMapAccessor());
+		});
+	}
+
 	protected abstract RedisContext targetRedisContext();
 
 	public static ItemProcessor<Map<String, Object>, Map<String, Object>> processor(EvaluationContext evaluationContext,
@@ -118,8 +217,71 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 		return RiotUtils.processor(processors);
 	}
 
-	protected RedisItemWriter<String, String, Map<String, Object>> operationWriter() {
-		return RedisItemWriter.operation(new MultiOperation<>(operations()));
+	@SuppressWarnings("unchecked")
+	protected ItemWriter<Map<String, Object>> operationWriter() {
+		if (getJobArgs().getRecoveryMode() == RecoveryMode.BISECT) {
+			// Items of a failed batch that Redis did apply are written again at each split
+			for (OperationCommand command : importOperationCommands) {
+				Assert.isTrue(command.isIdempotent(),
+						"--recovery bisect cannot be used with non-idempotent commands like rpush, lpush, xadd, ts.add or sugadd --increment");
+			}
+		}
+		List<ItemWriter<? super Map<String, Object>>> writers = new ArrayList<>();
+		List<OperationCommand> commands = new ArrayList<>();
+		for (OperationCommand command : importOperationCommands) {
+			if (command instanceof TsAddCommand && ((TsAddCommand) command).isMadd()) {
+				TsMaddItemWriter writer = ((TsAddCommand) command).maddWriter();
+				configureTargetRedisWriter(writer);
+				writers.add(writer);
+			} else {
+				commands.add(command);
+			}
+		}
+		if (!commands.isEmpty()) {
+			writers.add(0, aggregate ? aggregatingWriter(commands) : redisWriter(operation(commands)));
+		}
+		if (writers.size() == 1) {
+			return (ItemWriter<Map<String, Object>>) writers.get(0);
+		}
+		CompositeItemWriter<Map<String, Object>> writer = new CompositeItemWriter<>();
+		writer.setDelegates(writers);
+		return writer;
+	}
+
+	private MemberAggregatingItemWriter aggregatingWriter(List<OperationCommand> commands) {
+		List<OperationCommand> otherCommands = new ArrayList<>();
+		List<AggregatingOperationCommand> aggregatingCommands = new ArrayList<>();
+		for (OperationCommand command : commands) {
+			if (command instanceof AggregatingOperationCommand) {
+				aggregatingCommands.add((AggregatingOperationCommand) command);
+			} else {
+				otherCommands.add(command);
+			}
+		}
+		Assert.notEmpty(aggregatingCommands, "--aggregate requires a sadd, zadd, rpush or lpush command");
+		log.info("Aggregating members of {} commands", aggregatingCommands.size());
+		MemberAggregatingItemWriter writer = new MemberAggregatingItemWriter(
+				otherCommands.isEmpty() ? null : redisWriter(operation(otherCommands)));
+		for (int index = 0; index < aggregatingCommands.size(); index++) {
+			AggregatingOperationCommand command = aggregatingCommands.get(index);
+			RedisItemWriter<String, String, Map<String, Object>> aggregateWriter = redisWriter(
+					command.aggregateOperation());
+			// Each aggregation has its own connection pool
+			registerPoolSize("target-aggregate-writer-" + index, aggregateWriter.getPoolSize());
+			writer.addAggregation(command.aggregateKey(), command.aggregateMember(), aggregateWriter);
+		}
+		return writer;
+	}
+
+	private static Operation<String, String, Map<String, Object>, Object> operation(List<OperationCommand> commands) {
+		return new MultiOperation<>(commands.stream().map(OperationCommand::operation).collect(Collectors.toList()));
+	}
+
+	private RedisItemWriter<String, String, Map<String, Object>> redisWriter(
+			Operation<String, String, Map<String, Object>, Object> operation) {
+		RedisItemWriter<String, String, Map<String, Object>> writer = RedisItemWriter.operation(operation);
+		configureTargetRedisWriter(writer);
+		return writer;
 	}
 
 	protected void configureTargetRedisWriter(RedisItemWriter<?, ?, ?> writer) {
@@ -128,6 +290,16 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 		targetRedisWriterArgs.configure(writer);
 	}
 
+	/**
+	 * TS.MADD writes go through their own connections, which do not support
+	 * transactions or replica acknowledgement.
+	 */
+	protected void configureTargetRedisWriter(TsMaddItemWriter writer) {
+		Assert.isTrue(!targetRedisWriterArgs.isMultiExec(), "ts.add --madd cannot be used with --multi-exec");
+		Assert.isTrue(targetRedisWriterArgs.getWaitReplicas() == 0, "ts.add --madd cannot be used with --wait-replicas");
+		targetRedisContext.configure(writer);
+	}
+
 	static class ExpressionProcessor implements ItemProcessor<Map<String, Object>, Map<String, Object>> {
 
 		private final EvaluationContext context;
@@ -174,6 +346,38 @@ public abstract class AbstractImportCommand extends AbstractJobCommand {
 		this.processorArgs = args;
 	}
 
+	public boolean isCoalesce() {
+		return coalesce;
+	}
+
+	public void setCoalesce(boolean coalesce) {
+		this.coalesce = coalesce;
+	}
+
+	public boolean isAggregate() {
+		return aggregate;
+	}
+
+	public void setAggregate(boolean aggregate) {
+		this.aggregate = aggregate;
+	}
+
+	public LookupArgs getLookupArgs() {
+		return lookupArgs;
+	}
+
+	public void setLookupArgs(LookupArgs args) {
+		this.lookupArgs = args;
+	}
+
+	public DeadLetterArgs getDeadLetterArgs() {
+		return deadLetterArgs;
+	}
+
+	public void setDeadLetterArgs(DeadLetterArgs args) {
+		this.deadLetterArgs = args;
+	}
+
 	public EvaluationContextArgs getEvaluationContextArgs() {
 		return evaluationContextArgs;
 	}
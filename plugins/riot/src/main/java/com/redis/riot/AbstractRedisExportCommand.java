@@ -6,6 +6,7 @@ import java.util.regex.Pattern;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.function.FunctionItemProcessor;
 
+import com.redis.riot.core.AutoTuner;
 import com.redis.riot.core.processor.RegexNamedGroupFunction;
 import com.redis.riot.function.KeyValueMap;
 import com.redis.spring.batch.item.redis.RedisItemReader;
@@ -36,6 +37,15 @@ public abstract class AbstractRedisExportCommand extends AbstractExportCommand {
 		super.configureSourceRedisReader(reader);
 		log.info("Configuring Redis reader with poolSize {}", poolSize);
 		reader.setPoolSize(poolSize);
+		registerPoolSize("source-reader", poolSize);
+	}
+
+	@Override
+	protected void tune(AutoTuner tuner) {
+		super.tune(tuner);
+		if (!isOptionSet("--pool")) {
+			poolSize = tuner.getReadPoolSize();
+		}
 	}
 
 	protected ItemProcessor<KeyValue<String>, Map<String, Object>> mapProcessor() {
@@ -1,5 +1,6 @@
 package com.redis.riot;
 
+import com.redis.riot.core.AutoTuner;
 import com.redis.spring.batch.item.redis.RedisItemWriter;
 
 import picocli.CommandLine.ArgGroup;
@@ -18,6 +19,26 @@ public abstract class AbstractRedisImportCommand extends AbstractImportCommand {
 		super.configureTargetRedisWriter(writer);
 		log.info("Configuring Redis writer with poolSize {}", poolSize);
 		writer.setPoolSize(poolSize);
+		registerPoolSize("target-writer", poolSize);
+		if (poolSize < getJobArgs().getThreads()) {
+			log.warn("Pool size {} is less than the number of threads {}: threads will wait for connections",
+					poolSize, getJobArgs().getThreads());
+		}
+	}
+
+	@Override
+	protected void configureTargetRedisWriter(TsMaddItemWriter writer) {
+		super.configureTargetRedisWriter(writer);
+		log.info("Configuring TS.MADD writer with poolSize {}", poolSize);
+		writer.setPoolSize(poolSize);
+	}
+
+	@Override
+	protected void tune(AutoTuner tuner) {
+		super.tune(tuner);
+		if (!isOptionSet("--pool")) {
+			poolSize = tuner.getPoolSize();
+		}
 	}
 
 	@Override
@@ -1,17 +1,29 @@
 package com.redis.riot;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.Assert;
 
+import com.redis.riot.core.AutoTuner;
 import com.redis.spring.batch.item.redis.RedisItemReader;
 import com.redis.spring.batch.item.redis.RedisItemWriter;
 
+import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.RedisURI;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode;
+import io.lettuce.core.cluster.models.partitions.RedisClusterNode.NodeFlag;
 import picocli.CommandLine.ArgGroup;
+import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
 public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 
 	public static final int DEFAULT_TARGET_POOL_SIZE = RedisItemReader.DEFAULT_POOL_SIZE;
+	public static final int DEFAULT_PARTITIONS = 1;
 	private static final String VAR_TARGET = "target";
 
 	@ArgGroup(exclusive = false, heading = "TLS options%n")
@@ -29,8 +41,13 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 	@ArgGroup(exclusive = false)
 	private TargetRedisArgs targetRedisArgs = new TargetRedisArgs();
 
+	@Option(names = "--partitions", description = "Max number of source cluster nodes to read concurrently, each with its own scan, reader and writer (default: ${DEFAULT-VALUE} i.e. no partitioning).", paramLabel = "<int>")
+	private int partitions = DEFAULT_PARTITIONS;
+
 	private RedisContext targetRedisContext;
 
+	private List<RedisContext> partitionRedisContexts;
+
 	@Override
 	protected void execute() throws Exception {
 		targetRedisContext = targetRedisContext();
@@ -38,7 +55,39 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 			super.execute();
 		} finally {
 			targetRedisContext.close();
+			if (partitionRedisContexts != null) {
+				partitionRedisContexts.forEach(RedisContext::close);
+				partitionRedisContexts = null;
+			}
+		}
+	}
+
+	protected boolean isPartitioned() {
+		return partitions > 1;
+	}
+
+	/**
+	 * Creates one Redis context per upstream node of the source cluster, each used
+	 * to scan and read the keys of its partition.
+	 */
+	protected List<RedisContext> partitionRedisContexts() {
+		if (partitionRedisContexts == null) {
+			AbstractRedisClient client = getSourceRedisContext().getClient();
+			Assert.isInstanceOf(RedisClusterClient.class, client,
+					"Partitioning requires a source cluster (--source-cluster)");
+			RedisURI sourceUri = getSourceRedisContext().getUri();
+			partitionRedisContexts = new ArrayList<>();
+			for (RedisClusterNode node : ((RedisClusterClient) client).getPartitions()) {
+				if (node.is(NodeFlag.UPSTREAM)) {
+					RedisURI nodeUri = RedisURI.builder(sourceUri).withHost(node.getUri().getHost())
+							.withPort(node.getUri().getPort()).build();
+					log.info("Creating source partition Redis context for node {}", nodeUri);
+					partitionRedisContexts.add(RedisContext.create(nodeUri, false,
+							sourceRedisArgs.getProtocolVersion(), sslArgs));
+				}
+			}
 		}
+		return partitionRedisContexts;
 	}
 
 	@Override
@@ -52,6 +101,29 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 		return targetRedisArgs.redisContext(targetRedisUri, sslArgs);
 	}
 
+	/**
+	 * Tunes for the slowest of the source and target round-trip times.
+	 */
+	@Override
+	protected void calibrate(AutoTuner tuner) {
+		super.calibrate(tuner);
+		Duration targetRtt = targetRedisContext.roundTripTime(CALIBRATION_SAMPLES);
+		if (targetRtt.compareTo(tuner.getRtt()) > 0) {
+			tuner.setRtt(targetRtt);
+		}
+	}
+
+	@Override
+	protected void tune(AutoTuner tuner) {
+		super.tune(tuner);
+		if (!isOptionSet("--source-pool")) {
+			sourceRedisArgs.setPoolSize(tuner.getReadPoolSize());
+		}
+		if (!isOptionSet("--target-pool")) {
+			targetRedisArgs.setPoolSize(tuner.getPoolSize());
+		}
+	}
+
 	@Override
 	protected void configure(StandardEvaluationContext context) {
 		super.configure(context);
@@ -60,9 +132,24 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 
 	@Override
 	protected void configureSourceRedisReader(RedisItemReader<?, ?> reader) {
+		configureSourceRedisReader(reader, null, null);
+	}
+
+	/**
+	 * @param partition source node to read from, or null to read the whole source
+	 * @param step      name of the partition step, tagging the pool size gauge of
+	 *                  its reader
+	 */
+	protected void configureSourceRedisReader(RedisItemReader<?, ?> reader, RedisContext partition, String step) {
 		super.configureSourceRedisReader(reader);
 		log.info("Configuring source Redis reader with poolSize {}", sourceRedisArgs.getPoolSize());
 		reader.setPoolSize(sourceRedisArgs.getPoolSize());
+		if (partition == null) {
+			registerPoolSize("source-reader", sourceRedisArgs.getPoolSize());
+		} else {
+			partition.configure(reader);
+			registerPoolSize("source-reader", sourceRedisArgs.getPoolSize(), step);
+		}
 	}
 
 	protected void configureTargetRedisReader(RedisItemReader<?, ?> reader) {
@@ -70,12 +157,18 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 		targetRedisContext.configure(reader);
 		log.info("Configuring target Redis reader with poolSize {}", targetRedisArgs.getPoolSize());
 		reader.setPoolSize(targetRedisArgs.getPoolSize());
+		registerPoolSize("target-reader", targetRedisArgs.getPoolSize());
 	}
 
 	protected void configureTargetRedisWriter(RedisItemWriter<?, ?, ?> writer) {
 		targetRedisContext.configure(writer);
 		log.info("Configuring target Redis writer with poolSize {}", targetRedisArgs.getPoolSize());
 		writer.setPoolSize(targetRedisArgs.getPoolSize());
+		registerPoolSize("target-writer", targetRedisArgs.getPoolSize());
+		if (targetRedisArgs.getPoolSize() < getJobArgs().getThreads()) {
+			log.warn("Target pool size {} is less than the number of threads {}: threads will wait for connections",
+					targetRedisArgs.getPoolSize(), getJobArgs().getThreads());
+		}
 	}
 
 	public RedisURI getSourceRedisUri() {
@@ -110,6 +203,14 @@ public abstract class AbstractReplicateCommand extends AbstractExportCommand {
 		this.targetRedisArgs = targetRedisArgs;
 	}
 
+	public int getPartitions() {
+		return partitions;
+	}
+
+	public void setPartitions(int partitions) {
+		this.partitions = partitions;
+	}
+
 	public SslArgs getSslArgs() {
 		return sslArgs;
 	}
@@ -39,8 +39,8 @@ public class DatabaseImport extends AbstractRedisImportCommand {
 		JdbcCursorItemReaderBuilder<Map<String, Object>> reader = new JdbcCursorItemReaderBuilder<>();
 		reader.dataSource(dataSource);
 		reader.sql(sql);
-		reader.saveState(false);
-		reader.rowMapper(new ColumnMapRowMapper());
+		reader.saveState(isCheckpoint());
+		reader.rowMapper(readerArgs.isIndexed() ? new IndexedRecordRowMapper() : new ColumnMapRowMapper());
 		reader.fetchSize(readerArgs.getFetchSize());
 		reader.maxRows(readerArgs.getMaxRows());
 		reader.queryTimeout(readerArgs.getQueryTimeout());
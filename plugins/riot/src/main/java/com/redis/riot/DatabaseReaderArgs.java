@@ -28,6 +28,9 @@ public class DatabaseReaderArgs {
 	@Option(names = "--verify", description = "Verify position of result set after row mapper.", hidden = true)
 	private boolean verifyCursorPosition;
 
+	@Option(names = "--indexed", description = "Represent rows as arrays of values indexed by a header shared by all rows instead of one hash map per row.")
+	private boolean indexed;
+
 	public int getMaxItemCount() {
 		return maxItemCount;
 	}
@@ -81,11 +84,19 @@ public class DatabaseReaderArgs {
 		this.verifyCursorPosition = verifyCursorPosition;
 	}
 
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	public void setIndexed(boolean indexed) {
+		this.indexed = indexed;
+	}
+
 	@Override
 	public String toString() {
 		return "DatabaseReaderArgs [maxItemCount=" + maxItemCount + ", fetchSize=" + fetchSize + ", maxRows=" + maxRows
 				+ ", queryTimeout=" + queryTimeout + ", useSharedExtendedConnection=" + useSharedExtendedConnection
-				+ ", verifyCursorPosition=" + verifyCursorPosition + "]";
+				+ ", verifyCursorPosition=" + verifyCursorPosition + ", indexed=" + indexed + "]";
 	}
 
 }
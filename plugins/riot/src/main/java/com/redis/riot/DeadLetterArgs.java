@@ -0,0 +1,36 @@
+package com.redis.riot;
+
+import java.io.File;
+
+import picocli.CommandLine.Option;
+
+public class DeadLetterArgs {
+
+	@Option(names = "--dlq", description = "JSONL file to write skipped items to. The file can be imported back with file-import --from-dlq. Raw lines that could not be parsed are also written to <file>.input in the source format.", paramLabel = "<file>")
+	private File file;
+
+	@Option(names = "--dlq-stream", description = "Redis stream to write skipped items to.", paramLabel = "<key>")
+	private String stream;
+
+	public File getFile() {
+		return file;
+	}
+
+	public void setFile(File file) {
+		this.file = file;
+	}
+
+	public String getStream() {
+		return stream;
+	}
+
+	public void setStream(String stream) {
+		this.stream = stream;
+	}
+
+	@Override
+	public String toString() {
+		return "DeadLetterArgs [file=" + file + ", stream=" + stream + "]";
+	}
+
+}
@@ -1,16 +1,20 @@
 package com.redis.riot;
 
-import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.util.CollectionUtils;
 
 import com.redis.lettucemod.search.GeoLocation;
+import com.redis.riot.core.DateFormatter;
 import com.redis.riot.core.Expression;
+import com.redis.riot.core.NumberFormatter;
 import com.redis.riot.core.RiotUtils;
+import com.redis.riot.core.ThreadLocalEvaluationContext;
 
 import net.datafaker.Faker;
 import picocli.CommandLine.Option;
@@ -22,26 +26,42 @@ public class EvaluationContextArgs {
 	public static final String VAR_NUMBER = "number";
 	public static final String VAR_FAKER = "faker";
 
-	@Option(arity = "1..*", names = "--var", description = "SpEL expressions for context variables, in the form var=\"exp\". For details see https://docs.spring.io/spring-framework/reference/core/expressions.html", paramLabel = "<v=exp>")
+	@Option(arity = "1..*", names = "--var", description = "SpEL expressions for context variables, in the form var=\"exp\". Evaluated once and shared by all threads. For details see https://docs.spring.io/spring-framework/reference/core/expressions.html", paramLabel = "<v=exp>")
 	private Map<String, Expression> varExpressions = new LinkedHashMap<>();
 
-	@Option(names = "--date-format", description = "Date/time format (default: ${DEFAULT-VALUE}). For details see https://www.baeldung.com/java-simple-date-format#date_time_patterns", paramLabel = "<fmt>")
+	@Option(names = "--date-format", description = "Date/time format (default: ${DEFAULT-VALUE}). Uses DateTimeFormatter pattern letters, which differ from SimpleDateFormat: e.g. 'u' is year (not day of week), 'Y' is week-based year and 'a' is AM/PM text. For details see https://docs.oracle.com/en/java/javase/17/docs/api/java.base/java/time/format/DateTimeFormatter.html#patterns", paramLabel = "<fmt>")
 	private String dateFormat = DEFAULT_DATE_FORMAT;
 
 	@Option(names = "--number-format", description = "Number format (default: ${DEFAULT-VALUE}). For details see https://www.baeldung.com/java-decimalformat", paramLabel = "<fmt>")
 	private String numberFormat = "#,###.##";
 
+	@Option(names = "--spel-compile", description = "Compile SpEL expressions to bytecode after a few evaluations. Expressions that cannot be compiled keep being interpreted.")
+	private boolean compile;
+
 	private Map<String, Object> vars = new LinkedHashMap<>();
 
-	public StandardEvaluationContext evaluationContext() {
-		StandardEvaluationContext context = new StandardEvaluationContext();
+	public EvaluationContext evaluationContext() {
+		return evaluationContext(context -> {
+		});
+	}
+
+	/**
+	 * Creates an evaluation context that is safe to share between processing
+	 * threads. Date and number formatters are thread-safe and shared by all
+	 * threads, as are the values of {@code --var} expressions which are evaluated
+	 * once. Only the Faker, which is not thread-safe, is created per thread.
+	 */
+	public EvaluationContext evaluationContext(Consumer<StandardEvaluationContext> configurer) {
+		Expression.setCompilerMode(compile ? SpelCompilerMode.MIXED : SpelCompilerMode.OFF);
+		ThreadLocalEvaluationContext context = new ThreadLocalEvaluationContext();
 		RiotUtils.registerFunction(context, "geo", GeoLocation.class, "toString", String.class, String.class);
-		context.setVariable(VAR_DATE, new SimpleDateFormat(dateFormat));
-		context.setVariable(VAR_NUMBER, new DecimalFormat(numberFormat));
-		context.setVariable(VAR_FAKER, new Faker());
+		context.setVariable(VAR_DATE, new DateFormatter(dateFormat));
+		context.setVariable(VAR_NUMBER, new NumberFormatter(numberFormat));
+		context.setThreadLocalVariable(VAR_FAKER, Faker::new);
 		if (!CollectionUtils.isEmpty(vars)) {
 			vars.forEach(context::setVariable);
 		}
+		configurer.accept(context);
 		if (!CollectionUtils.isEmpty(varExpressions)) {
 			varExpressions.forEach((k, v) -> context.setVariable(k, v.getValue(context)));
 		}
@@ -72,6 +92,14 @@ public class EvaluationContextArgs {
 		this.vars = variables;
 	}
 
+	public boolean isCompile() {
+		return compile;
+	}
+
+	public void setCompile(boolean compile) {
+		this.compile = compile;
+	}
+
 	public String getNumberFormat() {
 		return numberFormat;
 	}
@@ -83,7 +111,7 @@ public class EvaluationContextArgs {
 	@Override
 	public String toString() {
 		return "EvaluationContextArgs [varExpressions=" + varExpressions + ", dateFormat=" + dateFormat
-				+ ", numberFormat=" + numberFormat + ", vars=" + vars + "]";
+				+ ", numberFormat=" + numberFormat + ", compile=" + compile + ", vars=" + vars + "]";
 	}
 
 }
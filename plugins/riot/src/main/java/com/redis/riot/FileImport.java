@@ -13,6 +13,7 @@ import java.util.regex.Pattern;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.JsonLineMapper;
@@ -28,6 +29,7 @@ import org.springframework.batch.item.json.JacksonJsonObjectReader;
 import org.springframework.batch.item.json.JsonItemReader;
 import org.springframework.batch.item.json.builder.JsonItemReaderBuilder;
 import org.springframework.core.io.Resource;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ObjectUtils;
@@ -37,6 +39,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.redis.riot.core.RiotUtils;
+import com.redis.riot.core.SharedItemStreamWriter;
 import com.redis.riot.core.Step;
 import com.redis.riot.core.processor.RegexNamedGroupFunction;
 import com.redis.riot.file.FileType;
@@ -60,6 +63,10 @@ import picocli.CommandLine.Parameters;
 @Command(name = "file-import", description = "Import data from files.")
 public class FileImport extends AbstractRedisImportCommand {
 
+	public static final int DEFAULT_FILE_PARALLELISM = 1;
+
+	private static final String STEP_NAME = "file-import";
+
 	@Parameters(arity = "1..*", description = "Files or URLs to import. Use '-' to read from stdin.", paramLabel = "FILE")
 	private List<String> files;
 
@@ -72,6 +79,12 @@ public class FileImport extends AbstractRedisImportCommand {
 	@Option(arity = "1..*", names = "--regex", description = "Regular expressions used to extract values from fields in the form field1=\"regex\" field2=\"regex\"...", paramLabel = "<f=rex>")
 	private Map<String, Pattern> regexes = new LinkedHashMap<>();
 
+	@Option(names = "--file-parallelism", description = "Max number of files to import concurrently (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
+	private int fileParallelism = DEFAULT_FILE_PARALLELISM;
+
+	@Option(names = "--from-dlq", description = "Import dead-letter files written by --dlq: drop the field describing why items were dead-lettered and skip items that only hold it.")
+	private boolean fromDeadLetters;
+
 	@Override
 	protected Job job() throws IOException {
 		Assert.notEmpty(files, "No file specified");
@@ -82,39 +95,84 @@ public class FileImport extends AbstractRedisImportCommand {
 				resources.add(fileReaderArgs.resource(expandedFile));
 			}
 		}
+		if (fileParallelism > 1 && resources.size() > 1) {
+			return job(parallelStep(resources));
+		}
 		for (Resource resource : resources) {
-			Step<?, ?> step = step(resource);
-			step.skip(ParseException.class);
-			step.skip(org.springframework.batch.item.ParseException.class);
-			step.noRetry(ParseException.class);
-			step.noRetry(org.springframework.batch.item.ParseException.class);
-			step.taskName(taskName(resource));
-			steps.add(step);
+			steps.add(step(resource, writer()));
 		}
 		return job(steps);
 	}
 
+	/**
+	 * Creates a step importing files concurrently, each with its own step. Steps
+	 * share the same writer and hence the same Redis connection pool.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Step<?, ?> parallelStep(List<Resource> resources) {
+		log.info("Importing {} files with parallelism {}", resources.size(), fileParallelism);
+		SharedItemStreamWriter writer = new SharedItemStreamWriter<>(writer());
+		Step step = new Step<>(STEP_NAME, null, writer);
+		step.taskName(String.format("Importing %,d files", resources.size()));
+		for (Resource resource : resources) {
+			step.partition(step(resource, writer));
+		}
+		step.partitionConcurrency(fileParallelism);
+		return step;
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private Step<?, ?> step(Resource resource) {
+	private Step<?, ?> step(Resource resource, ItemWriter writer) {
 		String name = resource.getFilename();
 		FileType type = fileType(resource);
+		Step step;
 		if (hasOperations()) {
 			ItemReader<Map<String, Object>> reader = (ItemReader) createReader(resource, type, Map.class);
-			RedisItemWriter<String, String, Map<String, Object>> writer = operationWriter();
-			configureTargetRedisWriter(writer);
-			return new Step<>(name, reader, writer).processor(processor());
+			step = step(name, reader, writer);
+		} else {
+			Assert.isTrue(type != FileType.CSV, "CSV file import requires a Redis command");
+			Assert.isTrue(type != FileType.FIXED, "Fixed-length file import requires a Redis command");
+			step = new Step<>(name, createReader(resource, type, KeyValue.class), writer);
+		}
+		step.skip(ParseException.class);
+		step.skip(org.springframework.batch.item.ParseException.class);
+		step.noRetry(ParseException.class);
+		step.noRetry(org.springframework.batch.item.ParseException.class);
+		step.taskName(taskName(resource));
+		return step;
+	}
+
+	private ItemWriter<?> writer() {
+		if (hasOperations()) {
+			return operationWriter();
 		}
-		Assert.isTrue(type != FileType.CSV, "CSV file import requires a Redis command");
-		Assert.isTrue(type != FileType.FIXED, "Fixed-length file import requires a Redis command");
-		ItemReader<KeyValue> reader = createReader(resource, type, KeyValue.class);
 		RedisItemWriter<String, String, KeyValue<String>> writer = RedisItemWriter.struct();
 		configureTargetRedisWriter(writer);
-		return new Step<>(name, reader, writer);
+		return writer;
 	}
 
 	@Override
-	protected ItemProcessor<Map<String, Object>, Map<String, Object>> processor() {
-		return RiotUtils.processor(super.processor(), regexProcessor());
+	protected ItemProcessor<Map<String, Object>, Map<String, Object>> processor(EvaluationContext evaluationContext) {
+		return RiotUtils.processor(deadLetterProcessor(), super.processor(evaluationContext), regexProcessor());
+	}
+
+	/**
+	 * Removes the field describing why an item was dead-lettered so that dead-letter
+	 * files can be imported back with --from-dlq. Items that could not be read in
+	 * the first place only hold that field and are filtered out: their raw input is
+	 * imported back from the companion input file instead. Other imports leave
+	 * their fields untouched.
+	 */
+	private ItemProcessor<Map<String, Object>, Map<String, Object>> deadLetterProcessor() {
+		if (!fromDeadLetters) {
+			return null;
+		}
+		return item -> {
+			if (item.remove(JsonDeadLetterWriter.FIELD) != null && item.isEmpty()) {
+				return null;
+			}
+			return item;
+		};
 	}
 
 	private FileType fileType(Resource resource) {
@@ -197,9 +255,20 @@ public class FileImport extends AbstractRedisImportCommand {
 			tokenizer.setNames(fileReaderArgs.getFields().toArray(new String[0]));
 		}
 		FlatFileItemReaderBuilder<Map<String, Object>> builder = flatFileReader(resource);
-		builder.fieldSetMapper(new MapFieldSetMapper());
 		builder.lineTokenizer(tokenizer);
-		builder.skippedLinesCallback(new HeaderCallbackHandler(tokenizer, headerIndex()));
+		HeaderCallbackHandler headerCallback = new HeaderCallbackHandler(tokenizer, headerIndex());
+		if (fileReaderArgs.isIndexed()) {
+			// Build the record schema once per file instead of checking names per line
+			IndexedRecordFieldSetMapper mapper = new IndexedRecordFieldSetMapper();
+			if (!ObjectUtils.isEmpty(fileReaderArgs.getFields())) {
+				mapper.setNames(fileReaderArgs.getFields().toArray(new String[0]));
+			}
+			headerCallback.setNamesConsumer(mapper::setNames);
+			builder.fieldSetMapper(mapper);
+		} else {
+			builder.fieldSetMapper(new MapFieldSetMapper());
+		}
+		builder.skippedLinesCallback(headerCallback);
 		return builder.build();
 	}
 
@@ -213,7 +282,8 @@ public class FileImport extends AbstractRedisImportCommand {
 		builder.recordSeparatorPolicy(recordSeparatorPolicy());
 		builder.linesToSkip(linesToSkip());
 		builder.strict(true);
-		builder.saveState(false);
+		builder.name(resource.getFilename() + "-flat-file-reader");
+		builder.saveState(isCheckpoint());
 		return builder;
 	}
 
@@ -298,6 +368,22 @@ public class FileImport extends AbstractRedisImportCommand {
 		return 0;
 	}
 
+	public int getFileParallelism() {
+		return fileParallelism;
+	}
+
+	public void setFileParallelism(int parallelism) {
+		this.fileParallelism = parallelism;
+	}
+
+	public boolean isFromDeadLetters() {
+		return fromDeadLetters;
+	}
+
+	public void setFromDeadLetters(boolean fromDeadLetters) {
+		this.fromDeadLetters = fromDeadLetters;
+	}
+
 	public List<String> getFiles() {
 		return files;
 	}
@@ -40,6 +40,9 @@ public class FileReaderArgs {
 	@Option(names = "--max", description = "Max number of lines to import.", paramLabel = "<count>")
 	private int maxItemCount = DEFAULT_MAX_ITEM_COUNT;
 
+	@Option(names = "--indexed", description = "Represent CSV/fixed-length records as arrays of values indexed by a header shared by all records instead of one hash map per record.")
+	private boolean indexed;
+
 	@ArgGroup(exclusive = false)
 	private FileArgs fileArgs = new FileArgs();
 
@@ -109,6 +112,14 @@ public class FileReaderArgs {
 		this.maxItemCount = maxItemCount;
 	}
 
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	public void setIndexed(boolean indexed) {
+		this.indexed = indexed;
+	}
+
 	public FileArgs getFileArgs() {
 		return fileArgs;
 	}
@@ -121,7 +132,8 @@ public class FileReaderArgs {
 	public String toString() {
 		return "FileReaderArgs [columnRanges=" + columnRanges + ", continuationString=" + continuationString
 				+ ", fields=" + fields + ", headerLine=" + headerLine + ", includedFields=" + includedFields
-				+ ", linesToSkip=" + linesToSkip + ", maxItemCount=" + maxItemCount + ", fileArgs=" + fileArgs + "]";
+				+ ", linesToSkip=" + linesToSkip + ", maxItemCount=" + maxItemCount + ", indexed=" + indexed
+				+ ", fileArgs=" + fileArgs + "]";
 	}
 
 }
@@ -51,6 +51,7 @@ public class Generate extends AbstractRedisCommand {
 		redisWriterArgs.configure(writer);
 		log.info("Configuring Redis writer with poolSize {}", poolSize);
 		writer.setPoolSize(poolSize);
+		registerPoolSize("target-writer", poolSize);
 		return writer;
 	}
 
@@ -0,0 +1,56 @@
+package com.redis.riot;
+
+import java.util.Map;
+
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.util.StringUtils;
+
+import com.redis.riot.core.IndexedRecord;
+import com.redis.riot.core.RecordSchema;
+
+/**
+ * Maps lines to {@link IndexedRecord} instances sharing a schema built from the
+ * field names. Like {@link com.redis.riot.file.MapFieldSetMapper} empty values
+ * are left out. The schema is built once from the names given to
+ * {@link #setNames(String[])}, typically by the header callback, or else from
+ * the names of the first field set.
+ */
+public class IndexedRecordFieldSetMapper implements FieldSetMapper<Map<String, Object>> {
+
+	private volatile Header header;
+
+	public void setNames(String[] names) {
+		this.header = new Header(names);
+	}
+
+	@Override
+	public Map<String, Object> mapFieldSet(FieldSet fieldSet) {
+		Header current = header;
+		if (current == null) {
+			current = new Header(fieldSet.getNames());
+			header = current;
+		}
+		IndexedRecord record = current.schema.newRecord();
+		for (int index = 0; index < current.slots.length; index++) {
+			String value = fieldSet.readString(index);
+			if (StringUtils.hasLength(value)) {
+				record.put(current.slots[index], value);
+			}
+		}
+		return record;
+	}
+
+	private static class Header {
+
+		private final RecordSchema schema;
+		private final int[] slots;
+
+		public Header(String[] names) {
+			this.schema = new RecordSchema(names);
+			this.slots = schema.indexesOf(names);
+		}
+
+	}
+
+}
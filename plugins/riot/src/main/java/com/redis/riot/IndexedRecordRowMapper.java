@@ -0,0 +1,48 @@
+package com.redis.riot;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import com.redis.riot.core.IndexedRecord;
+import com.redis.riot.core.RecordSchema;
+
+/**
+ * Maps rows to {@link IndexedRecord} instances sharing a schema built from the
+ * columns of the first row. Like
+ * {@link org.springframework.jdbc.core.ColumnMapRowMapper} columns are looked
+ * up regardless of case.
+ */
+public class IndexedRecordRowMapper implements RowMapper<Map<String, Object>> {
+
+	private RecordSchema schema;
+	private int[] slots;
+
+	@Override
+	public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+		if (schema == null) {
+			initialize(rs.getMetaData());
+		}
+		IndexedRecord record = schema.newRecord();
+		for (int index = 0; index < slots.length; index++) {
+			record.put(slots[index], JdbcUtils.getResultSetValue(rs, index + 1));
+		}
+		return record;
+	}
+
+	private void initialize(ResultSetMetaData metaData) throws SQLException {
+		int columnCount = metaData.getColumnCount();
+		String[] columns = new String[columnCount];
+		for (int index = 0; index < columnCount; index++) {
+			columns[index] = JdbcUtils.lookupColumnName(metaData, index + 1);
+		}
+		schema = new RecordSchema(Arrays.asList(columns), true);
+		slots = schema.indexesOf(columns);
+	}
+
+}
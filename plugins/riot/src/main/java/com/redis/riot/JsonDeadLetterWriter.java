@@ -0,0 +1,118 @@
+package com.redis.riot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.riot.core.DeadLetter;
+import com.redis.riot.core.DeadLetterWriter;
+
+/**
+ * Writes skipped items as JSON lines. Each line holds the fields of the item
+ * and a {@value #FIELD} field describing why it was skipped, which
+ * {@link FileImport} ignores with --from-dlq so that the file can be imported
+ * back as-is.
+ * <p>
+ * Lines that could not be parsed have no fields to import back: their raw
+ * input is also written, in the format of the source file, to a companion file
+ * named after the dead-letter file with the {@value #INPUT_SUFFIX} suffix.
+ */
+public class JsonDeadLetterWriter implements DeadLetterWriter {
+
+	public static final String FIELD = "_dlq";
+	public static final String INPUT_SUFFIX = ".input";
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper mapper = objectMapper();
+	private final BufferedWriter writer;
+	private final Path inputFile;
+	private BufferedWriter inputWriter;
+
+	public JsonDeadLetterWriter(Path file) throws IOException {
+		this.writer = Files.newBufferedWriter(file);
+		this.inputFile = inputFile(file);
+	}
+
+	/**
+	 * @return the companion file holding the raw input of lines that could not be
+	 *         parsed
+	 */
+	public static Path inputFile(Path file) {
+		return file.resolveSibling(file.getFileName() + INPUT_SUFFIX);
+	}
+
+	/**
+	 * Same configuration as file-export so that key-value items are written in the
+	 * format file-import reads.
+	 */
+	static ObjectMapper objectMapper() {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.setSerializationInclusion(Include.NON_NULL);
+		mapper.setSerializationInclusion(Include.NON_DEFAULT);
+		return mapper;
+	}
+
+	@Override
+	public void write(List<DeadLetter> deadLetters) throws IOException {
+		for (DeadLetter deadLetter : deadLetters) {
+			Map<String, Object> record = new LinkedHashMap<>();
+			if (deadLetter.getItem() != null) {
+				record.putAll(mapper.convertValue(deadLetter.getItem(), MAP_TYPE));
+			}
+			record.put(FIELD, metadata(deadLetter));
+			writer.write(mapper.writeValueAsString(record));
+			writer.newLine();
+			if (deadLetter.getItem() == null && deadLetter.getInput() != null) {
+				writeInput(deadLetter.getInput());
+			}
+		}
+		writer.flush();
+		if (inputWriter != null) {
+			inputWriter.flush();
+		}
+	}
+
+	private void writeInput(String input) throws IOException {
+		if (inputWriter == null) {
+			inputWriter = Files.newBufferedWriter(inputFile);
+		}
+		inputWriter.write(input);
+		inputWriter.newLine();
+	}
+
+	static Map<String, Object> metadata(DeadLetter deadLetter) {
+		Map<String, Object> metadata = new LinkedHashMap<>();
+		metadata.put("step", deadLetter.getStep());
+		metadata.put("phase", deadLetter.getPhase());
+		metadata.put("exception", deadLetter.getException().getClass().getName());
+		if (deadLetter.getException().getMessage() != null) {
+			metadata.put("message", deadLetter.getException().getMessage());
+		}
+		if (deadLetter.getLineNumber() > 0) {
+			metadata.put("line", deadLetter.getLineNumber());
+		}
+		if (deadLetter.getInput() != null) {
+			metadata.put("input", deadLetter.getInput());
+		}
+		metadata.put("timestamp", deadLetter.getTimestamp());
+		return metadata;
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.close();
+		if (inputWriter != null) {
+			inputWriter.close();
+		}
+	}
+
+}
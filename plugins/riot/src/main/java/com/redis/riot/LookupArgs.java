@@ -0,0 +1,58 @@
+package com.redis.riot;
+
+import java.time.Duration;
+
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.riot.core.LruCache;
+import com.redis.riot.core.TemplateExpression;
+
+import picocli.CommandLine.Option;
+
+public class LookupArgs {
+
+	public static final int DEFAULT_CACHE_SIZE = 10000;
+	public static final long DEFAULT_TTL = 60;
+
+	@Option(names = "--lookup-cache", description = "Max number of #lookup results to cache (default: ${DEFAULT-VALUE}). Use 0 to disable caching.", paramLabel = "<int>")
+	private int cacheSize = DEFAULT_CACHE_SIZE;
+
+	@Option(names = "--lookup-ttl", description = "Max time in seconds to cache #lookup results (default: ${DEFAULT-VALUE}). Use 0 to cache results until evicted.", paramLabel = "<sec>")
+	private long ttl = DEFAULT_TTL;
+
+	@Option(names = "--lookup-prefetch", description = "SpEL template expression for the key of a hash to fetch as soon as a record is read, e.g. \"person:#{id}\". Hashes looked up by a chunk are then fetched in a single pipeline.", paramLabel = "<exp>")
+	private TemplateExpression prefetch;
+
+	public RedisLookup lookup(StatefulRedisModulesConnection<String, String> connection) {
+		return new RedisLookup(connection, new LruCache<>(cacheSize, Duration.ofSeconds(ttl)));
+	}
+
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public void setCacheSize(int size) {
+		this.cacheSize = size;
+	}
+
+	public long getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(long ttl) {
+		this.ttl = ttl;
+	}
+
+	public TemplateExpression getPrefetch() {
+		return prefetch;
+	}
+
+	public void setPrefetch(TemplateExpression expression) {
+		this.prefetch = expression;
+	}
+
+	@Override
+	public String toString() {
+		return "LookupArgs [cacheSize=" + cacheSize + ", ttl=" + ttl + ", prefetch=" + prefetch + "]";
+	}
+
+}
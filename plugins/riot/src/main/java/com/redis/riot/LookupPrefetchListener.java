@@ -0,0 +1,34 @@
+package com.redis.riot;
+
+import java.util.Map;
+
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.expression.EvaluationContext;
+
+import com.redis.riot.core.TemplateExpression;
+
+/**
+ * Prefetches the lookup hash of each record as it is read, so that lookups of a
+ * chunk are pipelined while the rest of the chunk is being read.
+ */
+public class LookupPrefetchListener implements ItemReadListener<Map<String, Object>> {
+
+	private final RedisLookup lookup;
+	private final TemplateExpression key;
+	private final EvaluationContext context;
+
+	public LookupPrefetchListener(RedisLookup lookup, TemplateExpression key, EvaluationContext context) {
+		this.lookup = lookup;
+		this.key = key;
+		this.context = context;
+	}
+
+	@Override
+	public void afterRead(Map<String, Object> item) {
+		String value = key.getValue(context, item);
+		if (value != null) {
+			lookup.prefetch(value);
+		}
+	}
+
+}
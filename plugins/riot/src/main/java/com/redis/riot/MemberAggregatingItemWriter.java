@@ -0,0 +1,121 @@
+package com.redis.riot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+
+import com.redis.riot.operation.AggregatingOperationCommand;
+
+/**
+ * Writer that groups the members added by a chunk to the same collection into
+ * a single variadic command per key, e.g. one SADD with n members instead of n
+ * SADDs. Members are kept in chunk order so that list pushes are
+ * order-preserving. Keys and members are extracted from records before they are
+ * written to the non-aggregated operations, if any, so that fields removed by
+ * these operations (e.g. with --remove) are still available.
+ * <p>
+ * Each aggregation is written with its own writer, hence its own connection
+ * pool.
+ */
+public class MemberAggregatingItemWriter implements ItemStreamWriter<Map<String, Object>> {
+
+	private final ItemWriter<Map<String, Object>> delegate;
+	private final List<Aggregation> aggregations = new ArrayList<>();
+
+	/**
+	 * @param delegate writer for non-aggregated operations, or null if all
+	 *                 operations are aggregated
+	 */
+	public MemberAggregatingItemWriter(ItemWriter<Map<String, Object>> delegate) {
+		this.delegate = delegate;
+	}
+
+	public void addAggregation(Function<Map<String, Object>, String> key, Function<Map<String, Object>, ?> member,
+			ItemWriter<Map<String, Object>> writer) {
+		aggregations.add(new Aggregation(key, member, writer));
+	}
+
+	private List<ItemWriter<Map<String, Object>>> writers() {
+		List<ItemWriter<Map<String, Object>>> writers = new ArrayList<>();
+		if (delegate != null) {
+			writers.add(delegate);
+		}
+		aggregations.forEach(a -> writers.add(a.writer));
+		return writers;
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		for (ItemWriter<Map<String, Object>> writer : writers()) {
+			if (writer instanceof ItemStream) {
+				((ItemStream) writer).open(executionContext);
+			}
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		for (ItemWriter<Map<String, Object>> writer : writers()) {
+			if (writer instanceof ItemStream) {
+				((ItemStream) writer).update(executionContext);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		for (ItemWriter<Map<String, Object>> writer : writers()) {
+			if (writer instanceof ItemStream) {
+				((ItemStream) writer).close();
+			}
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends Map<String, Object>> chunk) throws Exception {
+		List<Chunk<Map<String, Object>>> aggregates = new ArrayList<>(aggregations.size());
+		for (Aggregation aggregation : aggregations) {
+			aggregates.add(aggregation.aggregate(chunk));
+		}
+		if (delegate != null) {
+			delegate.write(chunk);
+		}
+		for (int index = 0; index < aggregations.size(); index++) {
+			aggregations.get(index).writer.write(aggregates.get(index));
+		}
+	}
+
+	private static class Aggregation {
+
+		private final Function<Map<String, Object>, String> key;
+		private final Function<Map<String, Object>, ?> member;
+		private final ItemWriter<Map<String, Object>> writer;
+
+		public Aggregation(Function<Map<String, Object>, String> key, Function<Map<String, Object>, ?> member,
+				ItemWriter<Map<String, Object>> writer) {
+			this.key = key;
+			this.member = member;
+			this.writer = writer;
+		}
+
+		public Chunk<Map<String, Object>> aggregate(Chunk<? extends Map<String, Object>> chunk) {
+			Map<String, List<Object>> members = new LinkedHashMap<>();
+			for (Map<String, Object> item : chunk) {
+				members.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(member.apply(item));
+			}
+			Chunk<Map<String, Object>> aggregates = new Chunk<>();
+			members.forEach((k, v) -> aggregates.add(AggregatingOperationCommand.aggregate(k, v)));
+			return aggregates;
+		}
+
+	}
+
+}
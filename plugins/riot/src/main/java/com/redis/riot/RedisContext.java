@@ -1,8 +1,12 @@
 package com.redis.riot;
 
+import java.time.Duration;
+import java.util.Arrays;
+
 import com.redis.lettucemod.RedisModulesClientBuilder;
 import com.redis.lettucemod.RedisModulesUtils;
 import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.sync.RedisModulesCommands;
 import com.redis.spring.batch.item.redis.RedisItemReader;
 import com.redis.spring.batch.item.redis.RedisItemWriter;
 
@@ -10,7 +14,11 @@ import io.lettuce.core.AbstractRedisClient;
 import io.lettuce.core.ClientOptions;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
 import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.Metrics;
 
 public class RedisContext implements AutoCloseable {
 
@@ -33,6 +41,10 @@ public class RedisContext implements AutoCloseable {
 		writer.setClient(client);
 	}
 
+	public void configure(TsMaddItemWriter writer) {
+		writer.setClient(client);
+	}
+
 	public RedisURI getUri() {
 		return uri;
 	}
@@ -45,6 +57,46 @@ public class RedisContext implements AutoCloseable {
 		return connection;
 	}
 
+	/**
+	 * @param samples number of PING commands to time
+	 * @return median round-trip time of a PING command
+	 */
+	public Duration roundTripTime(int samples) {
+		RedisModulesCommands<String, String> commands = connection.sync();
+		commands.ping();
+		long[] times = new long[samples];
+		for (int index = 0; index < samples; index++) {
+			long start = System.nanoTime();
+			commands.ping();
+			times[index] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		return Duration.ofNanos(times[samples / 2]);
+	}
+
+	/**
+	 * @param samples number of random keys to sample
+	 * @return average memory usage in bytes of random keys, or 0 if the database is
+	 *         empty
+	 */
+	public long memoryUsage(int samples) {
+		RedisModulesCommands<String, String> commands = connection.sync();
+		long total = 0;
+		int count = 0;
+		for (int index = 0; index < samples; index++) {
+			String key = commands.randomkey();
+			if (key == null) {
+				break;
+			}
+			Long usage = commands.memoryUsage(key);
+			if (usage != null) {
+				total += usage;
+				count++;
+			}
+		}
+		return count == 0 ? 0 : total / count;
+	}
+
 	@Override
 	public void close() {
 		if (connection != null) {
@@ -66,6 +118,12 @@ public class RedisContext implements AutoCloseable {
 		}
 		clientBuilder.clientOptions(options.build());
 		clientBuilder.uri(uri);
+		if (!Metrics.globalRegistry.getRegistries().isEmpty()) {
+			clientBuilder.resources(ClientResources.builder()
+					.commandLatencyRecorder(
+							new MicrometerCommandLatencyRecorder(Metrics.globalRegistry, MicrometerOptions.create()))
+					.build());
+		}
 		return new RedisContext(uri, clientBuilder.build());
 	}
 
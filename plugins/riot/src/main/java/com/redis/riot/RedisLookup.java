@@ -0,0 +1,116 @@
+package com.redis.riot;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.async.RedisModulesAsyncCommands;
+import com.redis.riot.core.LruCache;
+
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisException;
+
+/**
+ * Read-only Redis commands for SpEL enrichment, exposed as {@code #lookup}.
+ * <p>
+ * Results are cached in a bounded LRU cache, including results for missing
+ * keys. The cache holds pending results so that concurrent and prefetched
+ * lookups of the same key share a single command. Prefetching a hash sends its
+ * HGETALL without waiting for the reply: hashes prefetched as records are read
+ * are fetched in a single pipeline by the time the chunk is processed, and
+ * {@link #hget(String, String)} is served from them.
+ */
+public class RedisLookup {
+
+	private static final String GET = "get";
+	private static final String HGET = "hget";
+	private static final String HGETALL = "hgetall";
+
+	private final RedisModulesAsyncCommands<String, String> commands;
+	private final Duration timeout;
+	private final LruCache<List<String>, CompletableFuture<?>> cache;
+
+	public RedisLookup(StatefulRedisModulesConnection<String, String> connection,
+			LruCache<List<String>, CompletableFuture<?>> cache) {
+		this.commands = connection.async();
+		this.timeout = connection.getTimeout();
+		this.cache = cache;
+	}
+
+	public String get(String key) {
+		return await(lookup(() -> commands.get(key).toCompletableFuture(), GET, key));
+	}
+
+	public String hget(String key, String field) {
+		CompletableFuture<Map<String, String>> hash = cached(HGETALL, key);
+		if (hash != null) {
+			return await(hash).get(field);
+		}
+		return await(lookup(() -> commands.hget(key, field).toCompletableFuture(), HGET, key, field));
+	}
+
+	public Map<String, String> hgetall(String key) {
+		return await(hgetallFuture(key));
+	}
+
+	/**
+	 * Sends HGETALL for the given key unless its result is already cached, without
+	 * waiting for the reply.
+	 */
+	public void prefetch(String key) {
+		hgetallFuture(key);
+	}
+
+	private CompletableFuture<Map<String, String>> hgetallFuture(String key) {
+		return lookup(() -> commands.hgetall(key).toCompletableFuture(), HGETALL, key);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> cached(String... cacheKey) {
+		return (CompletableFuture<T>) cache.get(Arrays.asList(cacheKey));
+	}
+
+	private <T> CompletableFuture<T> lookup(Supplier<CompletableFuture<T>> command, String... cacheKey) {
+		List<String> key = Arrays.asList(cacheKey);
+		synchronized (cache) {
+			CompletableFuture<T> cached = cached(cacheKey);
+			if (cached != null) {
+				return cached;
+			}
+			CompletableFuture<T> future = command.get();
+			cache.put(key, future);
+			// Failed lookups are not cached
+			future.whenComplete((value, exception) -> {
+				if (exception != null) {
+					cache.remove(key, future);
+				}
+			});
+			return future;
+		}
+	}
+
+	private <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RedisCommandInterruptedException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RedisException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new RedisCommandTimeoutException("Lookup timed out after " + timeout);
+		}
+	}
+
+}
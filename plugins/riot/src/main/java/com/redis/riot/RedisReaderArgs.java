@@ -1,11 +1,13 @@
 package com.redis.riot;
 
 import java.time.Duration;
+import java.util.function.Predicate;
 
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.function.FunctionItemProcessor;
 import org.springframework.util.unit.DataSize;
 
+import com.redis.riot.core.AutoTuner;
 import com.redis.riot.core.processor.FunctionPredicate;
 import com.redis.riot.core.processor.PredicateOperator;
 import com.redis.spring.batch.item.AbstractAsyncItemReader;
@@ -27,6 +29,9 @@ public class RedisReaderArgs {
 	public static final int DEFAULT_CHUNK_SIZE = AbstractAsyncItemReader.DEFAULT_CHUNK_SIZE;
 	public static final int DEFAULT_MEMORY_USAGE_SAMPLES = KeyValueRead.DEFAULT_MEM_USAGE_SAMPLES;
 	public static final long DEFAULT_SCAN_COUNT = 1000;
+	public static final String OPTION_READ_QUEUE = "--read-queue";
+	public static final String OPTION_READ_THREADS = "--read-threads";
+	public static final String OPTION_READ_BATCH = "--read-batch";
 	public static final Duration DEFAULT_FLUSH_INTERVAL = RedisItemReader.DEFAULT_FLUSH_INTERVAL;
 	public static final int DEFAULT_NOTIFICATION_QUEUE_CAPACITY = RedisItemReader.DEFAULT_NOTIFICATION_QUEUE_CAPACITY;
 
@@ -42,13 +47,13 @@ public class RedisReaderArgs {
 	@Option(names = "--scan-count", description = "How many keys to read at once on each SCAN call (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
 	private long scanCount = DEFAULT_SCAN_COUNT;
 
-	@Option(names = "--read-queue", description = "Max items that reader threads can queue up (default: ${DEFAULT-VALUE}). When the queue is full the threads wait for space to become available.", paramLabel = "<int>")
+	@Option(names = OPTION_READ_QUEUE, description = "Max items that reader threads can queue up (default: ${DEFAULT-VALUE}). When the queue is full the threads wait for space to become available.", paramLabel = "<int>")
 	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
 
-	@Option(names = "--read-threads", description = "How many value reader threads to use in parallel (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
+	@Option(names = OPTION_READ_THREADS, description = "How many value reader threads to use in parallel (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
 	private int threads = DEFAULT_THREADS;
 
-	@Option(names = "--read-batch", description = "Number of values each reader thread should read in a pipelined call (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
+	@Option(names = OPTION_READ_BATCH, description = "Number of values each reader thread should read in a pipelined call (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
 	private int chunkSize = DEFAULT_CHUNK_SIZE;
 
 	@Option(names = "--read-from", description = "Which Redis cluster nodes to read from: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).", paramLabel = "<name>")
@@ -107,6 +112,21 @@ public class RedisReaderArgs {
 		}
 	}
 
+	/**
+	 * Applies tuned settings to options that were not set explicitly.
+	 */
+	public void tune(AutoTuner tuner, Predicate<String> optionSet) {
+		if (!optionSet.test(OPTION_READ_THREADS)) {
+			threads = tuner.getReadThreads();
+		}
+		if (!optionSet.test(OPTION_READ_BATCH)) {
+			chunkSize = tuner.getReadBatch();
+		}
+		if (!optionSet.test(OPTION_READ_QUEUE)) {
+			queueCapacity = tuner.getReadQueue();
+		}
+	}
+
 	private <K> ItemProcessor<KeyValue<K>, KeyValue<K>> keyProcessor(RedisCodec<K, ?> codec, KeyFilterArgs args) {
 		return args.predicate(codec).map(p -> new FunctionPredicate<KeyValue<K>, K>(KeyValue::getKey, p))
 				.map(PredicateOperator::new).map(FunctionItemProcessor::new).orElse(null);
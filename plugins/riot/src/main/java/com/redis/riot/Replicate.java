@@ -1,6 +1,8 @@
 package com.redis.riot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.batch.core.Job;
@@ -68,17 +70,57 @@ public class Replicate extends AbstractCompareCommand {
 		targetRedisWriterArgs.configure(writer);
 	}
 
+	/**
+	 * When partitioned, only partitions read and write. The parent step has no
+	 * reader or writer of its own and only aggregates the progress of partitions.
+	 */
 	private Step<KeyValue<byte[]>, KeyValue<byte[]>> step() {
+		if (!isPartitioned()) {
+			return step(STEP_NAME, null);
+		}
+		Step<KeyValue<byte[]>, KeyValue<byte[]>> step = new Step<>(STEP_NAME, null, null);
+		List<RedisContext> partitionContexts = partitionRedisContexts();
+		log.info("Partitioning step {} across {} source nodes", STEP_NAME, partitionContexts.size());
+		List<RedisItemReader<?, ?>> readers = new ArrayList<>();
+		for (int index = 0; index < partitionContexts.size(); index++) {
+			Step<KeyValue<byte[]>, KeyValue<byte[]>> partition = step(STEP_NAME + "-" + index,
+					partitionContexts.get(index));
+			readers.add((RedisItemReader<?, ?>) partition.getReader());
+			step.partition(partition);
+		}
+		step.partitionConcurrency(getPartitions());
+		RedisItemReader<?, ?> reader = readers.get(0);
+		step.taskName(taskName(reader));
+		step.maxItemCountSupplier(() -> maxItemCount(step.getPartitions()));
+		if (reader.getMode() != ReaderMode.SCAN) {
+			step.statusMessageSupplier(() -> liveExtraMessage(readers));
+		}
+		return step;
+	}
+
+	private long maxItemCount(List<? extends Step<?, ?>> partitions) {
+		long total = 0;
+		for (Step<?, ?> partition : partitions) {
+			long count = partition.maxItemCount();
+			if (count < 0) {
+				return count;
+			}
+			total += count;
+		}
+		return total;
+	}
+
+	private Step<KeyValue<byte[]>, KeyValue<byte[]>> step(String name, RedisContext partition) {
 		RedisItemReader<byte[], byte[]> reader = reader();
-		configureSourceRedisReader(reader);
+		configureSourceRedisReader(reader, partition, name);
 		RedisItemWriter<byte[], byte[], KeyValue<byte[]>> writer = writer();
 		configureTargetRedisWriter(writer);
-		Step<KeyValue<byte[]>, KeyValue<byte[]>> step = step(STEP_NAME, reader, writer);
+		Step<KeyValue<byte[]>, KeyValue<byte[]>> step = step(name, reader, writer);
 		step.processor(processor());
 		step.taskName(taskName(reader));
 		step.writeListener(new ReplicateLagWriteListener());
 		if (reader.getMode() != ReaderMode.SCAN) {
-			step.statusMessageSupplier(() -> liveExtraMessage(reader));
+			step.statusMessageSupplier(() -> liveExtraMessage(Arrays.asList(reader)));
 		}
 		if (logKeys) {
 			log.info("Adding key logger");
@@ -126,17 +168,30 @@ public class Replicate extends AbstractCompareCommand {
 	}
 
 	@SuppressWarnings("rawtypes")
-	private String liveExtraMessage(RedisItemReader<?, ?> reader) {
-		KeyNotificationItemReader keyReader = (KeyNotificationItemReader) reader.getReader();
-		if (keyReader == null || keyReader.getQueue() == null) {
+	private String liveExtraMessage(Collection<RedisItemReader<?, ?>> readers) {
+		int open = 0;
+		long capacity = 0;
+		for (RedisItemReader<?, ?> reader : readers) {
+			if (reader.getMode() == ReaderMode.SCAN) {
+				continue;
+			}
+			KeyNotificationItemReader keyReader = (KeyNotificationItemReader) reader.getReader();
+			if (keyReader == null || keyReader.getQueue() == null) {
+				// Partition not listening yet
+				continue;
+			}
+			open++;
+			capacity += keyReader.getQueue().remainingCapacity();
+		}
+		if (open == 0) {
 			return "";
 		}
-		return String.format(QUEUE_MESSAGE, keyReader.getQueue().remainingCapacity());
+		return String.format(QUEUE_MESSAGE, capacity);
 	}
 
 	@Override
-	protected KeyComparisonItemReader<byte[], byte[]> compareReader() {
-		KeyComparisonItemReader<byte[], byte[]> reader = super.compareReader();
+	protected KeyComparisonItemReader<byte[], byte[]> compareReader(RedisContext sourcePartition, String step) {
+		KeyComparisonItemReader<byte[], byte[]> reader = super.compareReader(sourcePartition, step);
 		reader.setProcessor(processor());
 		return reader;
 	}
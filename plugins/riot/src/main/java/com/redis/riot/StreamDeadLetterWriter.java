@@ -0,0 +1,65 @@
+package com.redis.riot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.async.RedisModulesAsyncCommands;
+import com.redis.riot.core.DeadLetter;
+import com.redis.riot.core.DeadLetterWriter;
+
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+
+/**
+ * Writes skipped items to a Redis stream, one message per item. Messages hold
+ * the fields describing why the item was skipped and the item itself as JSON
+ * in the {@value #ITEM_FIELD} field.
+ */
+public class StreamDeadLetterWriter implements DeadLetterWriter {
+
+	public static final String ITEM_FIELD = "item";
+
+	private final ObjectMapper mapper = JsonDeadLetterWriter.objectMapper();
+	private final StatefulRedisModulesConnection<String, String> connection;
+	private final String key;
+
+	public StreamDeadLetterWriter(StatefulRedisModulesConnection<String, String> connection, String key) {
+		this.connection = connection;
+		this.key = key;
+	}
+
+	@Override
+	public void write(List<DeadLetter> deadLetters) throws JsonProcessingException {
+		RedisModulesAsyncCommands<String, String> commands = connection.async();
+		List<RedisFuture<String>> futures = new ArrayList<>(deadLetters.size());
+		for (DeadLetter deadLetter : deadLetters) {
+			futures.add(commands.xadd(key, body(deadLetter)));
+		}
+		if (!LettuceFutures.awaitAll(connection.getTimeout().toMillis(), TimeUnit.MILLISECONDS,
+				futures.toArray(new RedisFuture[0]))) {
+			throw new RedisCommandTimeoutException("Timed out writing dead letters to stream " + key);
+		}
+	}
+
+	private Map<String, String> body(DeadLetter deadLetter) throws JsonProcessingException {
+		Map<String, String> body = new LinkedHashMap<>();
+		JsonDeadLetterWriter.metadata(deadLetter).forEach((k, v) -> body.put(k, String.valueOf(v)));
+		if (deadLetter.getItem() != null) {
+			body.put(ITEM_FIELD, mapper.writeValueAsString(deadLetter.getItem()));
+		}
+		return body;
+	}
+
+	@Override
+	public void close() {
+		// Connection is owned by the command
+	}
+
+}
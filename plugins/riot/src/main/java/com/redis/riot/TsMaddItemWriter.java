@@ -0,0 +1,195 @@
+package com.redis.riot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.util.Assert;
+
+import com.redis.lettucemod.RedisModulesUtils;
+import com.redis.lettucemod.api.StatefulRedisModulesConnection;
+import com.redis.lettucemod.api.async.RedisModulesAsyncCommands;
+import com.redis.lettucemod.timeseries.CreateOptions;
+import com.redis.lettucemod.timeseries.Sample;
+import com.redis.riot.core.LruCache;
+import com.redis.spring.batch.item.redis.RedisItemWriter;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.cluster.SlotHash;
+import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+
+/**
+ * Writes time-series samples with one TS.MADD per chunk, or per chunk and hash
+ * slot on a cluster, instead of one TS.ADD per sample.
+ * <p>
+ * TS.MADD does not create series, so each series is created with TS.CREATE
+ * the first time it is written to, using the options of that first record.
+ * Series known to exist are remembered in a bounded cache shared by all
+ * threads, so that steady-state writes only send TS.MADD. TS.MADD has no
+ * ON_DUPLICATE argument: samples use the duplicate policy of their series.
+ * <p>
+ * Each chunk is written with a connection from a pool of at most
+ * {@link #setPoolSize(int) pool size} connections.
+ */
+public class TsMaddItemWriter implements ItemStreamWriter<Map<String, Object>> {
+
+	private static final String KEY_EXISTS_ERROR = "already exists";
+
+	private final Function<Map<String, Object>, String> keyFunction;
+	private final Function<Map<String, Object>, Sample> sampleFunction;
+	private final Function<Map<String, Object>, CreateOptions<String, String>> createOptionsFunction;
+	private final LruCache<String, CompletableFuture<?>> series;
+
+	private AbstractRedisClient client;
+	private int poolSize = RedisItemWriter.DEFAULT_POOL_SIZE;
+
+	private BlockingQueue<StatefulRedisModulesConnection<String, String>> idleConnections;
+	private List<StatefulRedisModulesConnection<String, String>> connections;
+
+	public TsMaddItemWriter(Function<Map<String, Object>, String> keyFunction,
+			Function<Map<String, Object>, Sample> sampleFunction,
+			Function<Map<String, Object>, CreateOptions<String, String>> createOptionsFunction,
+			LruCache<String, CompletableFuture<?>> series) {
+		this.keyFunction = keyFunction;
+		this.sampleFunction = sampleFunction;
+		this.createOptionsFunction = createOptionsFunction;
+		this.series = series;
+	}
+
+	@Override
+	public synchronized void open(ExecutionContext executionContext) {
+		if (connections == null) {
+			Assert.notNull(client, "Redis client not set");
+			idleConnections = new LinkedBlockingQueue<>();
+			connections = new ArrayList<>();
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (connections != null) {
+			connections.forEach(StatefulRedisModulesConnection::close);
+			connections = null;
+			idleConnections = null;
+		}
+	}
+
+	@Override
+	public void write(Chunk<? extends Map<String, Object>> chunk) throws InterruptedException {
+		StatefulRedisModulesConnection<String, String> connection = borrow();
+		try {
+			write(connection, chunk);
+		} finally {
+			idleConnections.offer(connection);
+		}
+	}
+
+	private StatefulRedisModulesConnection<String, String> borrow() throws InterruptedException {
+		StatefulRedisModulesConnection<String, String> connection = idleConnections.poll();
+		if (connection != null) {
+			return connection;
+		}
+		synchronized (this) {
+			if (connections.size() < poolSize) {
+				connection = RedisModulesUtils.connection(client);
+				connections.add(connection);
+				return connection;
+			}
+		}
+		return idleConnections.take();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void write(StatefulRedisModulesConnection<String, String> connection,
+			Chunk<? extends Map<String, Object>> chunk) {
+		RedisModulesAsyncCommands<String, String> commands = connection.async();
+		boolean cluster = connection instanceof StatefulRedisClusterConnection;
+		Map<String, CompletableFuture<?>> creations = new LinkedHashMap<>();
+		Map<Integer, List<KeyValue<String, Sample>>> samples = new LinkedHashMap<>();
+		for (Map<String, Object> item : chunk) {
+			String key = keyFunction.apply(item);
+			if (!creations.containsKey(key)) {
+				creations.put(key, create(commands, key, item));
+			}
+			int slot = cluster ? SlotHash.getSlot(key) : 0;
+			samples.computeIfAbsent(slot, s -> new ArrayList<>()).add(KeyValue.just(key, sampleFunction.apply(item)));
+		}
+		await(connection, creations.values().toArray(new Future[0]));
+		List<RedisFuture<List<Long>>> futures = new ArrayList<>(samples.size());
+		for (List<KeyValue<String, Sample>> slotSamples : samples.values()) {
+			futures.add(commands.tsMadd(slotSamples.toArray(new KeyValue[0])));
+		}
+		await(connection, futures.toArray(new Future[0]));
+	}
+
+	/**
+	 * @return the future of the creation of the given series, shared with other
+	 *         chunks and threads writing to the same series
+	 */
+	private CompletableFuture<?> create(RedisModulesAsyncCommands<String, String> commands, String key,
+			Map<String, Object> item) {
+		CompletableFuture<?> cached = series.get(key);
+		if (cached != null && !cached.isCompletedExceptionally()) {
+			return cached;
+		}
+		CompletableFuture<String> creation = commands.tsCreate(key, createOptionsFunction.apply(item))
+				.toCompletableFuture().exceptionally(e -> {
+					if (isKeyExists(e)) {
+						return null;
+					}
+					throw e instanceof RuntimeException ? (RuntimeException) e : new RedisCommandExecutionException(e);
+				});
+		series.put(key, creation);
+		return creation;
+	}
+
+	private static boolean isKeyExists(Throwable e) {
+		Throwable cause = e;
+		while (cause != null) {
+			if (cause instanceof RedisCommandExecutionException && cause.getMessage() != null
+					&& cause.getMessage().contains(KEY_EXISTS_ERROR)) {
+				return true;
+			}
+			cause = cause.getCause();
+		}
+		return false;
+	}
+
+	private static void await(StatefulRedisModulesConnection<String, String> connection, Future<?>... futures) {
+		if (!LettuceFutures.awaitAll(connection.getTimeout().toMillis(), TimeUnit.MILLISECONDS, futures)) {
+			throw new RedisCommandTimeoutException("Timed out waiting for time-series writes");
+		}
+	}
+
+	public AbstractRedisClient getClient() {
+		return client;
+	}
+
+	public void setClient(AbstractRedisClient client) {
+		this.client = client;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+
+}
@@ -14,4 +14,8 @@ abstract class AbstractMemberOperationCommand extends AbstractOperationCommand {
 		return idFunction(memberArgs.getMemberSpace(), memberArgs.getMemberFields());
 	}
 
+	public Function<Map<String, Object>, String> aggregateKey() {
+		return keyFunction();
+	}
+
 }
\ No newline at end of file
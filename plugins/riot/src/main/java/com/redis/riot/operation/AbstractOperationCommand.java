@@ -98,6 +98,14 @@ public abstract class AbstractOperationCommand extends BaseCommand implements Op
 		return idFunction(keyspace, keyFields);
 	}
 
+	/**
+	 * @return key function that leaves key fields in records even with --remove
+	 */
+	@Override
+	public Function<Map<String, Object>, ?> coalesceKey() {
+		return new IdFunctionBuilder().separator(keySeparator).prefix(keyspace).fields(keyFields).build();
+	}
+
 	protected ToDoubleFunction<Map<String, Object>> score(ScoreArgs args) {
 		return toDouble(args.getField(), args.getDefaultValue());
 	}
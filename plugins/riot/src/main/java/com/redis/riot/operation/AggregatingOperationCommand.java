@@ -0,0 +1,51 @@
+package com.redis.riot.operation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.redis.spring.batch.item.redis.common.Operation;
+
+/**
+ * Operation command adding members to collections, whose writes to the same key
+ * can be aggregated into a single variadic command, e.g. SADD key m1 m2 ...
+ * mN.
+ */
+public interface AggregatingOperationCommand extends OperationCommand {
+
+	String AGGREGATE_KEY = "key";
+	String AGGREGATE_MEMBERS = "members";
+
+	Function<Map<String, Object>, String> aggregateKey();
+
+	/**
+	 * @return function extracting the member added by a record, in the form
+	 *         expected by {@link #aggregateOperation()}
+	 */
+	Function<Map<String, Object>, ?> aggregateMember();
+
+	/**
+	 * @return operation writing aggregates created with
+	 *         {@link #aggregate(String, List)}
+	 */
+	Operation<String, String, Map<String, Object>, Object> aggregateOperation();
+
+	static Map<String, Object> aggregate(String key, List<?> members) {
+		Map<String, Object> aggregate = new HashMap<>();
+		aggregate.put(AGGREGATE_KEY, key);
+		aggregate.put(AGGREGATE_MEMBERS, members);
+		return aggregate;
+	}
+
+	static String key(Map<String, Object> aggregate) {
+		return (String) aggregate.get(AGGREGATE_KEY);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <V> Collection<V> members(Map<String, Object> aggregate) {
+		return (Collection<V>) aggregate.get(AGGREGATE_MEMBERS);
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.redis.riot.operation;
+
+/**
+ * How successive writes of an operation to the same key can be coalesced into a
+ * single write.
+ */
+public enum CoalesceMode {
+
+	/**
+	 * The last write replaces previous ones, e.g. SET.
+	 */
+	REPLACE,
+
+	/**
+	 * Fields of later writes are merged into previous ones, e.g. HSET.
+	 */
+	MERGE
+
+}
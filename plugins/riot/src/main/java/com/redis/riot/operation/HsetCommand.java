@@ -13,6 +13,11 @@ public class HsetCommand extends AbstractOperationCommand {
 	@ArgGroup(exclusive = false)
 	private FieldFilterArgs fieldFilterArgs = new FieldFilterArgs();
 
+	@Override
+	public CoalesceMode coalesceMode() {
+		return CoalesceMode.MERGE;
+	}
+
 	@Override
 	public Hset<String, String, Map<String, Object>> operation() {
 		return new Hset<>(keyFunction(), fieldFilterArgs.mapFunction());
@@ -29,6 +29,15 @@ public class JsonSetCommand extends AbstractOperationCommand {
 		return operation;
 	}
 
+	/**
+	 * Writes to different paths of a document depend on each other's order so
+	 * they cannot be coalesced.
+	 */
+	@Override
+	public CoalesceMode coalesceMode() {
+		return pathField == null ? CoalesceMode.REPLACE : null;
+	}
+
 	private String jsonValue(Map<String, Object> map) {
 		try {
 			return jsonWriter.writeValueAsString(map);
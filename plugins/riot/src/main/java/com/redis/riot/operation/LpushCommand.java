@@ -2,17 +2,33 @@ package com.redis.riot.operation;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.redis.spring.batch.item.redis.writer.impl.Lpush;
 
 import picocli.CommandLine.Command;
 
 @Command(name = "lpush", description = "Insert values at the head of a list")
-public class LpushCommand extends AbstractMemberOperationCommand {
+public class LpushCommand extends AbstractMemberOperationCommand implements AggregatingOperationCommand {
 
 	@Override
 	public Lpush<String, String, Map<String, Object>> operation() {
 		return new Lpush<>(keyFunction(), memberFunction().andThen(Arrays::asList));
 	}
 
+	@Override
+	public boolean isIdempotent() {
+		return false;
+	}
+
+	@Override
+	public Function<Map<String, Object>, String> aggregateMember() {
+		return memberFunction();
+	}
+
+	@Override
+	public Lpush<String, String, Map<String, Object>> aggregateOperation() {
+		return new Lpush<>(AggregatingOperationCommand::key, AggregatingOperationCommand::members);
+	}
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.redis.riot.operation;
 
 import java.util.Map;
+import java.util.function.Function;
 
 import com.redis.spring.batch.item.redis.common.Operation;
 
@@ -8,4 +9,26 @@ public interface OperationCommand {
 
 	Operation<String, String, Map<String, Object>, Object> operation();
 
+	/**
+	 * @return true if writing the same record several times leaves the same data
+	 *         as writing it once
+	 */
+	default boolean isIdempotent() {
+		return true;
+	}
+
+	/**
+	 * @return how writes of this operation to the same key can be coalesced, or
+	 *         null if they cannot
+	 */
+	default CoalesceMode coalesceMode() {
+		return null;
+	}
+
+	/**
+	 * @return function identifying the writes of this operation that can be
+	 *         coalesced. Must not modify records.
+	 */
+	Function<Map<String, Object>, ?> coalesceKey();
+
 }
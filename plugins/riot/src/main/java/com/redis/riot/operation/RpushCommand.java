@@ -2,17 +2,33 @@ package com.redis.riot.operation;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.redis.spring.batch.item.redis.writer.impl.Rpush;
 
 import picocli.CommandLine.Command;
 
 @Command(name = "rpush", description = "Insert values at the tail of a list")
-public class RpushCommand extends AbstractMemberOperationCommand {
+public class RpushCommand extends AbstractMemberOperationCommand implements AggregatingOperationCommand {
 
 	@Override
 	public Rpush<String, String, Map<String, Object>> operation() {
 		return new Rpush<>(keyFunction(), memberFunction().andThen(Arrays::asList));
 	}
 
+	@Override
+	public boolean isIdempotent() {
+		return false;
+	}
+
+	@Override
+	public Function<Map<String, Object>, String> aggregateMember() {
+		return memberFunction();
+	}
+
+	@Override
+	public Rpush<String, String, Map<String, Object>> aggregateOperation() {
+		return new Rpush<>(AggregatingOperationCommand::key, AggregatingOperationCommand::members);
+	}
+
 }
\ No newline at end of file
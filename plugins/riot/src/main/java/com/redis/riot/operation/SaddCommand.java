@@ -2,17 +2,28 @@ package com.redis.riot.operation;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.redis.spring.batch.item.redis.writer.impl.Sadd;
 
 import picocli.CommandLine.Command;
 
 @Command(name = "sadd", description = "Add members to a set")
-public class SaddCommand extends AbstractMemberOperationCommand {
+public class SaddCommand extends AbstractMemberOperationCommand implements AggregatingOperationCommand {
 
 	@Override
 	public Sadd<String, String, Map<String, Object>> operation() {
 		return new Sadd<>(keyFunction(), memberFunction().andThen(Arrays::asList));
 	}
 
+	@Override
+	public Function<Map<String, Object>, String> aggregateMember() {
+		return memberFunction();
+	}
+
+	@Override
+	public Sadd<String, String, Map<String, Object>> aggregateOperation() {
+		return new Sadd<>(AggregatingOperationCommand::key, AggregatingOperationCommand::members);
+	}
+
 }
\ No newline at end of file
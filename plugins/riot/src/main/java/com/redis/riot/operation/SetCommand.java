@@ -33,6 +33,11 @@ public class SetCommand extends AbstractOperationCommand {
 	@Option(names = "--root", description = "XML root element name.", paramLabel = "<name>")
 	private String root;
 
+	@Override
+	public CoalesceMode coalesceMode() {
+		return CoalesceMode.REPLACE;
+	}
+
 	@Override
 	public Set<String, String, Map<String, Object>> operation() {
 		return new Set<>(keyFunction(), value());
@@ -33,6 +33,11 @@ public class SugaddCommand extends AbstractOperationCommand {
 		return operation;
 	}
 
+	@Override
+	public boolean isIdempotent() {
+		return !increment;
+	}
+
 	private Function<Map<String, Object>, Suggestion<String>> suggestion() {
 		return new ToSuggestion<>(toString(stringField), score(scoreArgs), toString(payloadField));
 	}
@@ -1,12 +1,13 @@
 package com.redis.riot.operation;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToLongFunction;
@@ -14,9 +15,11 @@ import java.util.function.ToLongFunction;
 import org.springframework.util.CollectionUtils;
 
 import com.redis.lettucemod.timeseries.AddOptions;
-import com.redis.lettucemod.timeseries.AddOptions.Builder;
+import com.redis.lettucemod.timeseries.CreateOptions;
 import com.redis.lettucemod.timeseries.DuplicatePolicy;
 import com.redis.lettucemod.timeseries.Sample;
+import com.redis.riot.TsMaddItemWriter;
+import com.redis.riot.core.LruCache;
 import com.redis.riot.function.ToSample;
 import com.redis.spring.batch.item.redis.writer.impl.TsAdd;
 
@@ -28,6 +31,7 @@ import picocli.CommandLine.Option;
 public class TsAddCommand extends AbstractOperationCommand {
 
 	public static final DuplicatePolicy DEFAULT_DUPLICATE_POLICY = DuplicatePolicy.LAST;
+	public static final int DEFAULT_SERIES_CACHE = 100000;
 
 	@Option(names = "--value", required = true, description = "Name of the field to use for values.", paramLabel = "<field>")
 	private String valueField;
@@ -35,38 +39,79 @@ public class TsAddCommand extends AbstractOperationCommand {
 	@Option(names = "--timestamp", description = "Name of the field to use for timestamps. If unset, uses auto-timestamping.", paramLabel = "<field>")
 	private String timestampField;
 
-	@Option(names = "--on-duplicate", description = "Duplicate policy: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).", paramLabel = "<name>")
+	@Option(names = "--on-duplicate", description = "Duplicate policy: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). With --madd, only applies to series created by the import.", paramLabel = "<name>")
 	private DuplicatePolicy duplicatePolicy = DEFAULT_DUPLICATE_POLICY;
 
 	@Option(arity = "1..*", names = "--label", description = "Labels in the form label1=field1 label2=field2...", paramLabel = "SPEL")
 	private Map<String, String> labels = new LinkedHashMap<>();
 
+	@Option(names = "--retention", description = "Maximum age for samples in milliseconds of series created by the import.", paramLabel = "<ms>")
+	private long retention;
+
+	@Option(names = "--madd", description = "Write samples of each batch with TS.MADD, creating series once with TS.CREATE.")
+	private boolean madd;
+
+	@Option(names = "--series-cache", description = "Max number of series known to exist with --madd (default: ${DEFAULT-VALUE}).", paramLabel = "<int>")
+	private int seriesCache = DEFAULT_SERIES_CACHE;
+
 	@Override
 	public TsAdd<String, String, Map<String, Object>> operation() {
-		TsAdd<String, String, Map<String, Object>> operation = new TsAdd<>(keyFunction(), valueFunction());
+		TsAdd<String, String, Map<String, Object>> operation = new TsAdd<>(keyFunction(),
+				sampleFunction().andThen(Arrays::asList));
 		operation.setOptionsFunction(this::addOptions);
 		return operation;
 	}
 
-	@SuppressWarnings("unchecked")
+	@Override
+	public boolean isIdempotent() {
+		return false;
+	}
+
+	/**
+	 * Writer used instead of {@link #operation()} when {@link #isMadd()} is set.
+	 */
+	public TsMaddItemWriter maddWriter() {
+		return new TsMaddItemWriter(keyFunction(), sampleFunction(), this::createOptions,
+				new LruCache<String, CompletableFuture<?>>(seriesCache, Duration.ZERO));
+	}
+
 	private AddOptions<String, String> addOptions(Map<String, Object> source) {
-		Builder<String, String> builder = AddOptions.<String, String>builder().policy(duplicatePolicy);
+		AddOptions.Builder<String, String> builder = AddOptions.<String, String>builder().policy(duplicatePolicy);
+		if (retention > 0) {
+			builder.retentionPeriod(retention);
+		}
 		if (!CollectionUtils.isEmpty(labels)) {
-			List<KeyValue<String, String>> labelList = new ArrayList<>();
-			for (Entry<String, String> label : labels.entrySet()) {
-				if (source.containsKey(label.getValue())) {
-					labelList.add(KeyValue.just(label.getKey(), String.valueOf(source.get(label.getValue()))));
-				}
-			}
-			builder.labels(labelList.toArray(new KeyValue[0]));
+			builder.labels(labels(source));
+		}
+		return builder.build();
+	}
+
+	private CreateOptions<String, String> createOptions(Map<String, Object> source) {
+		CreateOptions.Builder<String, String> builder = CreateOptions.<String, String>builder().policy(duplicatePolicy);
+		if (retention > 0) {
+			builder.retentionPeriod(retention);
+		}
+		if (!CollectionUtils.isEmpty(labels)) {
+			builder.labels(labels(source));
 		}
 		return builder.build();
 	}
 
-	private Function<Map<String, Object>, Collection<Sample>> valueFunction() {
+	@SuppressWarnings("unchecked")
+	private KeyValue<String, String>[] labels(Map<String, Object> source) {
+		List<KeyValue<String, String>> labelList = new ArrayList<>();
+		for (Entry<String, String> label : labels.entrySet()) {
+			if (source.containsKey(label.getValue())) {
+				labelList.add(KeyValue.just(label.getKey(), String.valueOf(source.get(label.getValue()))));
+			}
+		}
+		return labelList.toArray(new KeyValue[0]);
+	}
+
+	private Function<Map<String, Object>, Sample> sampleFunction() {
 		ToLongFunction<Map<String, Object>> timestamp = toLong(timestampField);
 		ToDoubleFunction<Map<String, Object>> value = toDouble(valueField, 0);
-		return new ToSample<>(timestamp, value).andThen(Arrays::asList);
+		return new ToSample<>(timestamp, value);
 	}
 
 	public String getTimestampField() {
@@ -93,6 +138,30 @@ public class TsAddCommand extends AbstractOperationCommand {
 		this.duplicatePolicy = duplicatePolicy;
 	}
 
+	public long getRetention() {
+		return retention;
+	}
+
+	public void setRetention(long retention) {
+		this.retention = retention;
+	}
+
+	public boolean isMadd() {
+		return madd;
+	}
+
+	public void setMadd(boolean madd) {
+		this.madd = madd;
+	}
+
+	public int getSeriesCache() {
+		return seriesCache;
+	}
+
+	public void setSeriesCache(int seriesCache) {
+		this.seriesCache = seriesCache;
+	}
+
 	public Map<String, String> getLabels() {
 		return labels;
 	}
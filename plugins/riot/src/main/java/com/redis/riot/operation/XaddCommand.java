@@ -41,6 +41,11 @@ public class XaddCommand extends AbstractOperationCommand {
 		return operation;
 	}
 
+	@Override
+	public boolean isIdempotent() {
+		return false;
+	}
+
 	private Function<Map<String, Object>, Collection<StreamMessage<String, String>>> messageFunction() {
 		Function<Map<String, Object>, String> keyFunction = keyFunction();
 		Function<Map<String, Object>, Map<String, String>> mapFunction = fieldFilterArgs.mapFunction();
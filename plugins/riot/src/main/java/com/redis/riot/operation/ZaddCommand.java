@@ -2,6 +2,7 @@ package com.redis.riot.operation;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Function;
 
 import com.redis.riot.function.ToScoredValue;
 import com.redis.spring.batch.item.redis.writer.impl.Zadd;
@@ -10,7 +11,7 @@ import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
 
 @Command(name = "zadd", description = "Add members with scores to a sorted set")
-public class ZaddCommand extends AbstractMemberOperationCommand {
+public class ZaddCommand extends AbstractMemberOperationCommand implements AggregatingOperationCommand {
 
 	@ArgGroup(exclusive = false)
 	private ScoreArgs scoreArgs = new ScoreArgs();
@@ -24,6 +25,16 @@ public class ZaddCommand extends AbstractMemberOperationCommand {
 		return new ToScoredValue<>(memberFunction(), score(scoreArgs));
 	}
 
+	@Override
+	public Function<Map<String, Object>, ?> aggregateMember() {
+		return scoredValueFunction();
+	}
+
+	@Override
+	public Zadd<String, String, Map<String, Object>> aggregateOperation() {
+		return new Zadd<>(AggregatingOperationCommand::key, AggregatingOperationCommand::members);
+	}
+
 	public ScoreArgs getScoreArgs() {
 		return scoreArgs;
 	}
@@ -116,6 +116,17 @@ class PostgresTests extends DbTests {
 		}
 	}
 
+	@Test
+	void virtualThreadImport(TestInfo info) throws Exception {
+		execute(info, "db-import-postgresql-virtual", this::executeDatabaseImport);
+		try (Statement statement = dbConnection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) AS count FROM orders")) {
+				Assertions.assertTrue(resultSet.next());
+				Assertions.assertEquals(resultSet.getLong("count"), keyCount("order:*"));
+			}
+		}
+	}
+
 	@Test
 	void multiThreadedImport(TestInfo info) throws Exception {
 		execute(info, "db-import-postgresql-multithreaded", this::executeDatabaseImport);
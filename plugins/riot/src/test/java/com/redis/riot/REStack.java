@@ -1,9 +1,12 @@
 package com.redis.riot;
 
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 
 import com.redis.enterprise.testcontainers.RedisEnterpriseContainer;
+import com.redis.riot.Replicate.CompareMode;
 import com.redis.testcontainers.RedisStackContainer;
 
 @EnabledOnOs(OS.LINUX)
@@ -22,4 +25,14 @@ class REStack extends RiotTests {
 		return target;
 	}
 
+	@Test
+	void replicatePartitioned(TestInfo info) throws Exception {
+		generate(info, generator(1000));
+		Replicate replication = new Replicate();
+		replication.setPartitions(2);
+		replication.setCompareMode(CompareMode.FULL);
+		execute(replication, info);
+		assertCompare(info);
+	}
+
 }
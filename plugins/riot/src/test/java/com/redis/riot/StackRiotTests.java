@@ -2,12 +2,16 @@ package com.redis.riot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -64,6 +68,7 @@ import io.lettuce.core.GeoArgs;
 import io.lettuce.core.Range;
 import io.lettuce.core.StreamMessage;
 import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import picocli.CommandLine.ExitCode;
 import picocli.CommandLine.ParseResult;
 
@@ -247,6 +252,16 @@ class StackRiotTests extends RiotTests {
 		testImport(info, "file-import-csv", "beer:*", BEER_CSV_COUNT);
 	}
 
+	@Test
+	void fileImportCSVBatchAuto(TestInfo info) throws Exception {
+		testImport(info, "file-import-csv-batch-auto", "beer:*", BEER_CSV_COUNT);
+	}
+
+	@Test
+	void fileImportCSVThreads(TestInfo info) throws Exception {
+		testImport(info, "file-import-csv-threads", "beer:*", BEER_CSV_COUNT);
+	}
+
 	@Test
 	void fileImportCSVSkipLines(TestInfo info) throws Exception {
 		testImport(info, "file-import-csv-skiplines", "beer:*", BEER_CSV_COUNT - 10);
@@ -312,6 +327,12 @@ class StackRiotTests extends RiotTests {
 		Assertions.assertEquals(BEER_CSV_COUNT, keyCount("beer:*"));
 	}
 
+	@Test
+	void fileImportGlobParallel(TestInfo info) throws Exception {
+		execute(info, "file-import-glob-parallel", this::executeImportGlob);
+		Assertions.assertEquals(BEER_CSV_COUNT, keyCount("beer:*"));
+	}
+
 	private int executeImportGlob(ParseResult parseResult) {
 		FileImport command = command(parseResult);
 		try {
@@ -328,6 +349,52 @@ class StackRiotTests extends RiotTests {
 		return ExitCode.OK;
 	}
 
+	@Test
+	void fileImportDeadLetter(TestInfo info) throws Exception {
+		Path dir = Files.createTempDirectory("import-dlq");
+		Path dlq = dir.resolve("dlq.jsonl");
+		execute(info, "file-import-dlq", parseResult -> {
+			FileImport command = command(parseResult);
+			try {
+				Path file = dir.resolve("dlq.csv");
+				FileCopyUtils.copy(getClass().getClassLoader().getResourceAsStream("files/dlq.csv"),
+						Files.newOutputStream(file));
+				command.setFiles(file.toString());
+			} catch (IOException e) {
+				throw new RuntimeException("Could not configure import-dlq", e);
+			}
+			command.getDeadLetterArgs().setFile(dlq.toFile());
+			return ExitCode.OK;
+		});
+		Assertions.assertEquals(3, keyCount("dlq:*"));
+		List<String> lines = Files.readAllLines(dlq);
+		Assertions.assertEquals(2, lines.size());
+		ObjectMapper mapper = new ObjectMapper();
+		for (String line : lines) {
+			Map<?, ?> metadata = (Map<?, ?>) mapper.readValue(line, Map.class).get(JsonDeadLetterWriter.FIELD);
+			Assertions.assertEquals("dlq.csv", metadata.get("step"));
+			Assertions.assertEquals("read", metadata.get("phase"));
+			Assertions.assertNotNull(metadata.get("input"));
+		}
+		Path input = JsonDeadLetterWriter.inputFile(dlq);
+		Assertions.assertEquals(Arrays.asList("2,two,extra", "4"), Files.readAllLines(input));
+		// Dead-lettered lines only hold the _dlq field and are ignored
+		execute(info, "file-import-dlq-reimport", parseResult -> {
+			FileImport command = command(parseResult);
+			command.setFiles(dlq.toString());
+			return ExitCode.OK;
+		});
+		Assertions.assertEquals(3, keyCount("dlq:*"));
+		execute(info, "file-import-dlq-input", parseResult -> {
+			FileImport command = command(parseResult);
+			command.setFiles(input.toString());
+			return ExitCode.OK;
+		});
+		Assertions.assertEquals(4, keyCount("dlq:*"));
+		Assertions.assertEquals("two", redisCommands.hget("dlq:2", "name"));
+		Assertions.assertEquals("extra", redisCommands.hget("dlq:2", "extra"));
+	}
+
 	@Test
 	void fileImportGeoadd(TestInfo info) throws Exception {
 		execute(info, "file-import-geoadd");
@@ -374,6 +441,21 @@ class StackRiotTests extends RiotTests {
 		Assertions.assertEquals("10", beer1436.get("ibu"));
 	}
 
+	@Test
+	void fileImportProcessLookup(TestInfo info) throws Exception {
+		redisCommands.hset("brewery:408", "name", "Brewery 408");
+		testImport(info, "file-import-process-lookup", "beer:*", BEER_CSV_COUNT);
+		Assertions.assertEquals("Brewery 408", redisCommands.hget("beer:1436", "brewery"));
+		Assertions.assertEquals("unknown", redisCommands.hget("beer:2265", "brewery"));
+	}
+
+	@Test
+	void fileImportProcessPipeline(TestInfo info) throws Exception {
+		testImport(info, "file-import-process-pipeline", "beer:*", BEER_CSV_COUNT);
+		Map<String, String> beer1436 = redisCommands.hgetall("beer:1436");
+		Assertions.assertEquals("10", beer1436.get("ibu"));
+	}
+
 	@Test
 	void fileImportHsetSadd(TestInfo info) throws Exception {
 		execute(info, "file-import-hset-sadd");
@@ -388,6 +470,90 @@ class StackRiotTests extends RiotTests {
 		Assertions.assertEquals(558, breweries.size());
 	}
 
+	@Test
+	void fileImportIndexed(TestInfo info) throws Exception {
+		execute(info, "file-import-indexed");
+		Assertions.assertEquals(BEER_CSV_COUNT, keyCount("beer:*"));
+		Map<String, String> beer = redisCommands.hgetall("beer:1436");
+		Assertions.assertEquals("Pub Beer", beer.get("name"));
+		Assertions.assertEquals("408", beer.get("brewery_id"));
+		Assertions.assertFalse(beer.containsKey("ibu"));
+		Assertions.assertEquals(558, redisCommands.scard("breweries"));
+	}
+
+	@Test
+	void fileImportAggregate(TestInfo info) throws Exception {
+		execute(info, "file-import-aggregate");
+		Assertions.assertEquals(BEER_CSV_COUNT, keyCount("beer:*"));
+		Assertions.assertFalse(redisCommands.hexists("beer:1436", "id"));
+		Assertions.assertEquals(558, redisCommands.scard("breweries"));
+		Map<String, List<String>> breweryBeers = new LinkedHashMap<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				getClass().getClassLoader().getResourceAsStream("files/beers.csv"), StandardCharsets.UTF_8))) {
+			reader.lines().skip(1).forEach(line -> {
+				// Names can contain commas: id comes before and brewery_id after
+				String[] columns = line.split(",");
+				breweryBeers.computeIfAbsent(columns[columns.length - 2], k -> new ArrayList<>()).add(columns[3]);
+			});
+		}
+		Assertions.assertEquals(558, keyCount("brewery:beers:*"));
+		breweryBeers.forEach((brewery, beers) -> Assertions.assertEquals(beers,
+				redisCommands.lrange("brewery:beers:" + brewery, 0, -1)));
+	}
+
+	@Test
+	void fileImportCoalesce(TestInfo info) throws Exception {
+		execute(info, "file-import-coalesce");
+		Assertions.assertEquals(558, keyCount("brewery:*"));
+	}
+
+	@Test
+	void fileImportCoalesceSet(TestInfo info) throws Exception {
+		executeCoalesce(info, "file-import-coalesce-set");
+		Assertions.assertEquals("shipped", redisCommands.get("status:1"));
+		Assertions.assertEquals("new", redisCommands.get("status:2"));
+	}
+
+	@Test
+	void fileImportCoalesceHset(TestInfo info) throws Exception {
+		executeCoalesce(info, "file-import-coalesce-hset");
+		Map<String, String> order = redisCommands.hgetall("order:1");
+		Assertions.assertEquals("one", order.get("name"));
+		Assertions.assertEquals("shipped", order.get("status"));
+		Assertions.assertEquals("ups", order.get("carrier"));
+		Assertions.assertEquals("new", redisCommands.hget("order:2", "status"));
+	}
+
+	@Test
+	void fileImportTsAddMadd(TestInfo info) throws Exception {
+		Path file = Files.createTempDirectory("import-madd").resolve("timeseries.jsonl");
+		FileCopyUtils.copy(getClass().getClassLoader().getResourceAsStream("files/timeseries.jsonl"),
+				Files.newOutputStream(file));
+		execute(info, "file-import-tsadd-madd", parseResult -> {
+			FileImport command = command(parseResult);
+			command.setFiles(file.toString());
+			return ExitCode.OK;
+		});
+		Assertions.assertEquals(3, redisCommands.tsRange("ts:1", TimeRange.unbounded()).size());
+		Assertions.assertEquals(2, redisCommands.tsRange("ts:2", TimeRange.unbounded()).size());
+		List<RangeResult<String, String>> results = redisCommands.tsMrange(TimeRange.unbounded(),
+				MRangeOptions.<String, String>filters("location=lab").build());
+		Assertions.assertEquals(1, results.size());
+		Assertions.assertEquals("ts:1", results.get(0).getKey());
+		Assertions.assertEquals(3, results.get(0).getSamples().size());
+	}
+
+	private void executeCoalesce(TestInfo info, String filename) throws Exception {
+		Path file = Files.createTempDirectory("import-coalesce").resolve("coalesce.jsonl");
+		FileCopyUtils.copy(getClass().getClassLoader().getResourceAsStream("files/coalesce.jsonl"),
+				Files.newOutputStream(file));
+		execute(info, filename, parseResult -> {
+			FileImport command = command(parseResult);
+			command.setFiles(file.toString());
+			return ExitCode.OK;
+		});
+	}
+
 	@Test
 	void fileImportHsetExpire(TestInfo info) throws Exception {
 		execute(info, "file-import-hset-expire");
@@ -490,6 +656,30 @@ class StackRiotTests extends RiotTests {
 		Assertions.assertTrue(person.containsKey("address"));
 	}
 
+	@Test
+	void fakerImportHsetRate(TestInfo info) throws Exception {
+		long start = System.currentTimeMillis();
+		testImport(info, "faker-hset-rate", "person:*", 1000);
+		// 500 items available as initial burst, remaining 500 at 500/s
+		Assertions.assertTrue(System.currentTimeMillis() - start >= 900);
+	}
+
+	@Test
+	void fakerImportHsetMetrics(TestInfo info) throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		execute(info, "faker-hset", r -> {
+			FakerImport command = command(r);
+			command.setMeterRegistry(registry);
+			return ExitCode.OK;
+		});
+		Assertions.assertEquals(1000, keyCount("person:*"));
+		Assertions.assertEquals(1000, registry.get("riot.step.items").tag("phase", "write").counter().count());
+		Assertions.assertEquals(1000, registry.get("riot.step.read").timer().count());
+		Assertions.assertTrue(registry.get("riot.step.write").timer().count() > 0);
+		Assertions.assertTrue(registry.get("riot.step.bytes").counter().count() > 0);
+		Assertions.assertEquals(0, registry.get("riot.step.writes.active").gauge().value());
+	}
+
 	@Test
 	void fakerImportSadd(TestInfo info) throws Exception {
 		execute(info, "faker-sadd");
@@ -526,6 +716,7 @@ class StackRiotTests extends RiotTests {
 		Assertions.assertFalse(results.isEmpty());
 	}
 
+
 	@Test
 	void generateTypes(TestInfo info) throws Exception {
 		execute(info, "generate");